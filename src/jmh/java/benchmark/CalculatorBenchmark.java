@@ -0,0 +1,75 @@
+package benchmark;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import calculator.impl.BaileyBorweinPlouffeCalculator;
+import calculator.impl.ChudnovskyCalculator;
+
+/**
+ * Compares the Chudnovsky and the BBP calculator across a range of precisions. Both calculators run on a work stealing
+ * pool, see {@link ExecutorBenchmark} for the influence of the executor.
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CalculatorBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int digits;
+
+    private ExecutorService service;
+    private ChudnovskyCalculator chudnovsky;
+    private BaileyBorweinPlouffeCalculator bbp;
+    private MathContext context;
+    private int chudnovskyIterations;
+    private int bbpIterations;
+
+    @Setup
+    public void setup() {
+        service = Executors.newWorkStealingPool();
+        chudnovsky = new ChudnovskyCalculator(service);
+        bbp = new BaileyBorweinPlouffeCalculator(service);
+        context = new MathContext(digits);
+        chudnovskyIterations = chudnovsky.getNumIterations(digits);
+        // every term of the BBP sum adds 4 bits
+        bbpIterations = (int) Math.ceil(digits / Math.log10(16));
+    }
+
+    @TearDown
+    public void tearDown() {
+        service.shutdown();
+    }
+
+    @Benchmark
+    public BigDecimal chudnovsky() {
+        return chudnovsky.calculate(chudnovskyIterations, context);
+    }
+
+    @Benchmark
+    public BigDecimal bbp() {
+        return bbp.calculate(bbpIterations, context);
+    }
+}
@@ -0,0 +1,78 @@
+package benchmark;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import calculator.impl.ChudnovskyCalculator;
+
+/**
+ * Compares the executors the Chudnovsky calculator can run on.
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExecutorBenchmark {
+
+    @Param({"WORK_STEALING", "FIXED", "SINGLE"})
+    private String executor;
+
+    @Param({"1000", "10000"})
+    private int digits;
+
+    private ExecutorService service;
+    private ChudnovskyCalculator calculator;
+    private MathContext context;
+    private int iterations;
+
+    @Setup
+    public void setup() {
+        switch (executor) {
+            case "WORK_STEALING":
+                service = Executors.newWorkStealingPool();
+                break;
+            case "FIXED":
+                service = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+                break;
+            case "SINGLE":
+                service = Executors.newSingleThreadExecutor();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown executor: " + executor);
+        }
+        calculator = new ChudnovskyCalculator(service);
+        context = new MathContext(digits);
+        iterations = calculator.getNumIterations(digits);
+    }
+
+    @TearDown
+    public void tearDown() {
+        service.shutdown();
+    }
+
+    @Benchmark
+    public BigDecimal chudnovsky() {
+        return calculator.calculate(iterations, context);
+    }
+}
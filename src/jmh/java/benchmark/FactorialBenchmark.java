@@ -0,0 +1,99 @@
+package benchmark;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import calculator.factorial.PrimeSwingFactorialCalculator;
+import calculator.impl.ChudnovskyCalculator;
+import factorial.FactorialCalculator;
+import factorial.impl.GuavaFactorialCalculator;
+import factorial.impl.MemoizeFactorialCalculator;
+
+/**
+ * Compares the factorial backends of the Chudnovsky calculator. The backends are created for every invocation, so the
+ * caching backends start with an empty cache each time, like a new calculation does.
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FactorialBenchmark {
+
+    @Param({"GUAVA", "MEMOIZE", "PRIME_SWING"})
+    private String backend;
+
+    @Param({"100", "1000"})
+    private int iterations;
+
+    private ExecutorService service;
+    private FactorialCalculator<BigInteger> factorialCalculator;
+
+    @Setup(Level.Trial)
+    public void setupExecutor() {
+        service = Executors.newWorkStealingPool();
+    }
+
+    @Setup(Level.Invocation)
+    public void setupBackend() {
+        switch (backend) {
+            case "GUAVA":
+                factorialCalculator = new GuavaFactorialCalculator();
+                break;
+            case "MEMOIZE":
+                factorialCalculator = new MemoizeFactorialCalculator<>(new GuavaFactorialCalculator());
+                break;
+            case "PRIME_SWING":
+                factorialCalculator = new PrimeSwingFactorialCalculator();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown backend: " + backend);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        service.shutdown();
+    }
+
+    /**
+     * Calculates the factorials which the Chudnovsky terms 0 to iterations need: (6k)!, (3k)! and k!
+     */
+    @Benchmark
+    public void factorials(Blackhole blackhole) {
+        for (int k = 0; k <= iterations; k++) {
+            blackhole.consume(factorialCalculator.factorial(6 * k));
+            blackhole.consume(factorialCalculator.factorial(3 * k));
+            blackhole.consume(factorialCalculator.factorial(k));
+        }
+    }
+
+    @Benchmark
+    public BigDecimal chudnovsky() {
+        ChudnovskyCalculator calculator = new ChudnovskyCalculator(service, factorialCalculator);
+        return calculator.calculate(iterations, new MathContext(calculator.getPrecision(iterations)));
+    }
+}
@@ -0,0 +1,334 @@
+package calculator.distributed;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import calculator.impl.ChudnovskyCalculator;
+import calculator.impl.ChudnovskyPartialSum;
+import calculator.multiplication.Multiplier;
+import calculator.multiplication.impl.JavaMultiplier;
+
+/**
+ * Distributes a Chudnovsky calculation over several {@link ChudnovskyWorker}s. The terms are split into segments,
+ * whose exact sums are calculated by the workers and merged by the coordinator. Only the constant and the final
+ * division are calculated locally.
+ * <p>
+ * Every worker is served by its own thread, which takes the next segment from a shared queue as soon as the worker has
+ * returned the previous one, so faster workers get more segments. If the connection to a worker fails, its current
+ * segment is put back into the queue and the coordinator tries to reconnect. A segment which failed too often, or the
+ * loss of all workers, fails the calculation.
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+public class ChudnovskyCoordinator {
+
+    public static final int DEFAULT_SEGMENT_SIZE = 1000;
+    public static final int DEFAULT_MAX_ATTEMPTS = 3;
+    public static final int DEFAULT_RECONNECT_DELAY = 1000;
+    public static final int DEFAULT_TIMEOUT = 300000;
+
+    private final ChudnovskyCalculator calculator;
+    private final List<InetSocketAddress> workers;
+    private final Multiplier multiplier;
+
+    private int segmentSize = DEFAULT_SEGMENT_SIZE;
+    private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+    private int reconnectDelay = DEFAULT_RECONNECT_DELAY;
+    private int timeout = DEFAULT_TIMEOUT;
+
+    public ChudnovskyCoordinator(ChudnovskyCalculator calculator, List<InetSocketAddress> workers) {
+        this(calculator, workers, new JavaMultiplier());
+    }
+
+    /**
+     * @param calculator The calculator which calculates the constant and the final division
+     * @param workers    The addresses of the workers
+     * @param multiplier The multiplier used to merge the sums of the segments
+     */
+    public ChudnovskyCoordinator(ChudnovskyCalculator calculator, List<InetSocketAddress> workers, Multiplier multiplier) {
+        if (workers.isEmpty()) {
+            throw new IllegalArgumentException("At least one worker is required");
+        }
+        this.calculator = calculator;
+        this.workers = new ArrayList<>(workers);
+        this.multiplier = multiplier;
+    }
+
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    /**
+     * @param segmentSize The number of terms which are sent to a worker at once
+     */
+    public void setSegmentSize(int segmentSize) {
+        if (segmentSize < 1) {
+            throw new IllegalArgumentException("Segment size must be positive");
+        }
+        this.segmentSize = segmentSize;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * @param maxAttempts The number of times a segment is sent to a worker, and the number of consecutive failed
+     *                    connection attempts after which a worker is considered lost
+     */
+    public void setMaxAttempts(int maxAttempts) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("At least one attempt is required");
+        }
+        this.maxAttempts = maxAttempts;
+    }
+
+    public int getReconnectDelay() {
+        return reconnectDelay;
+    }
+
+    /**
+     * @param reconnectDelay The time in milliseconds to wait before reconnecting to a worker
+     */
+    public void setReconnectDelay(int reconnectDelay) {
+        if (reconnectDelay < 0) {
+            throw new IllegalArgumentException("Reconnect delay cannot be negative");
+        }
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    public int getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * @param timeout The time in milliseconds to wait for a connection or for the result of a segment, before the
+     *                attempt is considered failed. 0 waits forever, so a hung worker blocks the calculation.
+     */
+    public void setTimeout(int timeout) {
+        if (timeout < 0) {
+            throw new IllegalArgumentException("Timeout cannot be negative");
+        }
+        this.timeout = timeout;
+    }
+
+    /**
+     * Calculates PI with the given number of iterations on the workers.
+     *
+     * @param iterations The number of iterations
+     * @param precision  The mathematical context that will be applied to the result
+     * @return A CompletableFuture, containing the result of the algorithm. Cancelling it stops the distribution.
+     */
+    public CompletableFuture<BigDecimal> calculateAsync(int iterations, MathContext precision) {
+        if (iterations < 0) {
+            throw new IllegalArgumentException("Number of iterations cannot be negative");
+        }
+        CompletableFuture<ChudnovskyPartialSum> sum = sumAsync(iterations);
+        CompletableFuture<BigDecimal> result = new CompletableFuture<>();
+        sum.thenCompose(partialSum -> calculator.calculateAsync(partialSum, precision))
+           .whenComplete((value, throwable) -> {
+               if (throwable != null) {
+                   result.completeExceptionally(throwable);
+               } else {
+                   result.complete(value);
+               }
+           });
+        // the dependent future of thenCompose would not propagate the cancellation to the distribution
+        result.whenComplete((value, throwable) -> {
+            if (result.isCancelled()) {
+                sum.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Calculates the exact sum of the terms 0 to n on the workers.
+     *
+     * @param n The index of the last term
+     * @return A CompletableFuture, containing the exact sum. Cancelling it stops the distribution.
+     */
+    public CompletableFuture<ChudnovskyPartialSum> sumAsync(int n) {
+        Calculation calculation = new Calculation(n);
+        for (InetSocketAddress worker : workers) {
+            Thread thread = new Thread(() -> calculation.serve(worker), "chudnovsky-coordinator-" + worker);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        return calculation.result;
+    }
+
+    /**
+     * A range of terms, together with the number of times it has been sent to a worker.
+     */
+    private static class Segment {
+        private final int index;
+        private final int from;
+        private final int to;
+        private int attempts;
+
+        Segment(int index, int from, int to) {
+            this.index = index;
+            this.from = from;
+            this.to = to;
+        }
+    }
+
+    /**
+     * The state of a single distributed calculation.
+     */
+    private class Calculation {
+        private final CompletableFuture<ChudnovskyPartialSum> result = new CompletableFuture<>();
+        private final BlockingDeque<Segment> pending = new LinkedBlockingDeque<>();
+        private final ChudnovskyPartialSum[] sums;
+        private final AtomicInteger remaining;
+        private final AtomicInteger activeWorkers = new AtomicInteger(workers.size());
+        private final Set<Socket> sockets = ConcurrentHashMap.newKeySet();
+        // all segments but the last have the same length, so their powers are calculated once
+        private final ChudnovskyPartialSum.Powers powers = new ChudnovskyPartialSum.Powers(multiplier);
+
+        Calculation(int n) {
+            int count = (int) ((n + (long) segmentSize) / segmentSize);
+            sums = new ChudnovskyPartialSum[count];
+            remaining = new AtomicInteger(count);
+            for (int i = 0; i < count; i++) {
+                int from = i * segmentSize;
+                pending.add(new Segment(i, from, (int) Math.min(n + 1L, (long) from + segmentSize)));
+            }
+            // closing the connections wakes up the threads which wait for a response
+            result.whenComplete((sum, throwable) -> sockets.forEach(this::closeQuietly));
+        }
+
+        /**
+         * Sends segments to the worker until all segments are done or the worker is lost.
+         */
+        void serve(InetSocketAddress worker) {
+            int failures = 0;
+            while (!result.isDone()) {
+                Socket socket = new Socket();
+                sockets.add(socket);
+                try {
+                    if (result.isDone()) {
+                        return;
+                    }
+                    socket.connect(worker, timeout);
+                    socket.setSoTimeout(timeout);
+                    socket.setTcpNoDelay(true);
+                    DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+                    SegmentProtocol.writeHeader(out);
+                    SegmentProtocol.readHeader(in);
+                    failures = 0;
+                    calculateSegments(in, out);
+                    return;
+                } catch (SegmentProtocol.WorkerException e) {
+                    result.completeExceptionally(new IOException("Worker " + worker + " failed: " + e.getMessage(), e));
+                    return;
+                } catch (IOException e) {
+                    failures++;
+                    if (failures >= maxAttempts) {
+                        workerLost(worker, e);
+                        return;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (RuntimeException | Error e) {
+                    // the thread ends, so the calculation must not wait for its segments
+                    result.completeExceptionally(e);
+                    return;
+                } finally {
+                    // every reconnect uses a new socket, the closed ones must not accumulate
+                    sockets.remove(socket);
+                    closeQuietly(socket);
+                }
+                try {
+                    Thread.sleep(reconnectDelay);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+
+        private void calculateSegments(DataInputStream in, DataOutputStream out) throws IOException, InterruptedException {
+            while (!result.isDone()) {
+                Segment segment = pending.poll(100, TimeUnit.MILLISECONDS);
+                if (segment == null) {
+                    // the remaining segments are being calculated by other workers, which might still fail
+                    continue;
+                }
+                ChudnovskyPartialSum sum;
+                try {
+                    SegmentProtocol.writeRequest(out, segment.from, segment.to);
+                    sum = SegmentProtocol.readResult(in, segment.from, segment.to);
+                } catch (SegmentProtocol.WorkerException e) {
+                    throw e;
+                } catch (IOException e) {
+                    retry(segment, e);
+                    throw e;
+                } catch (RuntimeException | Error e) {
+                    pending.addFirst(segment);
+                    throw e;
+                }
+                sums[segment.index] = sum;
+                if (remaining.decrementAndGet() == 0) {
+                    result.complete(merge(0, sums.length));
+                }
+            }
+        }
+
+        private void retry(Segment segment, IOException cause) {
+            segment.attempts++;
+            if (segment.attempts >= maxAttempts) {
+                result.completeExceptionally(new IOException("Segment [" + segment.from + ", " + segment.to + ") failed "
+                        + segment.attempts + " times", cause));
+            } else {
+                pending.addFirst(segment);
+            }
+        }
+
+        private void workerLost(InetSocketAddress worker, IOException cause) {
+            if (activeWorkers.decrementAndGet() == 0) {
+                result.completeExceptionally(new IOException("All workers have been lost, the last one was " + worker, cause));
+            }
+        }
+
+        /**
+         * Merges the sums of the segments [from, to) pairwise, so the operands of the multiplications have similar
+         * sizes.
+         */
+        private ChudnovskyPartialSum merge(int from, int to) {
+            if (to - from == 1) {
+                return sums[from];
+            }
+            int mid = (from + to) >>> 1;
+            return merge(from, mid).combine(merge(mid, to), powers);
+        }
+
+        private void closeQuietly(Socket socket) {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // the socket is not used anymore
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package calculator.distributed;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+import calculator.impl.ChudnovskyCalculator;
+import calculator.impl.ChudnovskyPartialSum;
+
+/**
+ * Calculates the segments requested by a {@link ChudnovskyCoordinator}. Every connection is served by its own thread,
+ * while the segments themselves are calculated on the executor of the calculator.
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+public class ChudnovskyWorker implements Closeable {
+
+    private final ChudnovskyCalculator calculator;
+    private final ServerSocket serverSocket;
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed;
+
+    /**
+     * Listens on the loopback interface.
+     *
+     * @param calculator The calculator which calculates the segments
+     * @param port       The port to listen on, 0 for any free port
+     * @throws IOException If the port could not be opened
+     */
+    public ChudnovskyWorker(ChudnovskyCalculator calculator, int port) throws IOException {
+        this(calculator, new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+    }
+
+    /**
+     * @param calculator The calculator which calculates the segments
+     * @param address    The address to listen on
+     * @throws IOException If the address could not be bound
+     */
+    public ChudnovskyWorker(ChudnovskyCalculator calculator, InetSocketAddress address) throws IOException {
+        this.calculator = calculator;
+        this.serverSocket = new ServerSocket();
+        serverSocket.bind(address);
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Starts accepting connections in a background thread.
+     */
+    public void start() {
+        Thread thread = new Thread(this::accept, "chudnovsky-worker-" + getPort());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void accept() {
+        while (!closed) {
+            try {
+                Socket socket = serverSocket.accept();
+                Thread thread = new Thread(() -> serve(socket), "chudnovsky-worker-" + socket.getRemoteSocketAddress());
+                thread.setDaemon(true);
+                thread.start();
+            } catch (IOException e) {
+                if (!closed) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        connections.add(socket);
+        try (Socket connection = socket;
+             DataInputStream in = new DataInputStream(new BufferedInputStream(connection.getInputStream()));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(connection.getOutputStream()))) {
+            connection.setTcpNoDelay(true);
+            SegmentProtocol.writeHeader(out);
+            SegmentProtocol.readHeader(in);
+            while (true) {
+                int from;
+                try {
+                    from = in.readInt();
+                } catch (EOFException e) {
+                    // the coordinator is done
+                    return;
+                }
+                int to = in.readInt();
+                ChudnovskyPartialSum sum;
+                try {
+                    sum = calculator.partialSumAsync(from, to).get();
+                } catch (IllegalArgumentException | ExecutionException e) {
+                    SegmentProtocol.writeError(out, e.getMessage());
+                    continue;
+                }
+                SegmentProtocol.writeResult(out, sum);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (SocketException e) {
+            // the connection has been closed by either side
+        } catch (IOException e) {
+            if (!closed) {
+                e.printStackTrace();
+            }
+        } finally {
+            connections.remove(socket);
+        }
+    }
+
+    /**
+     * Stops accepting connections and closes all open connections.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        serverSocket.close();
+        for (Socket connection : connections) {
+            connection.close();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package calculator.distributed;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+
+import calculator.impl.ChudnovskyPartialSum;
+
+/**
+ * The binary protocol between coordinator and workers. A connection starts with the magic number and the version of
+ * the protocol, sent by both sides. Then the coordinator sends requests, each of them answered by a response, until it
+ * closes the connection. All numbers are big endian ints.
+ * <pre>
+ * request:  from, to
+ * response: OK, from, to, length of the numerator in bytes, two's complement bytes of the numerator
+ *           ERROR, message (modified UTF-8)
+ * </pre>
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+final class SegmentProtocol {
+
+    static final int MAGIC = 0x50494457;
+    static final int VERSION = 1;
+
+    static final byte OK = 0;
+    static final byte ERROR = 1;
+
+    private SegmentProtocol() {
+    }
+
+    static void writeHeader(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.flush();
+    }
+
+    static void readHeader(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Peer does not speak the segment protocol");
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported protocol version " + version);
+        }
+    }
+
+    static void writeRequest(DataOutputStream out, int from, int to) throws IOException {
+        out.writeInt(from);
+        out.writeInt(to);
+        out.flush();
+    }
+
+    static void writeResult(DataOutputStream out, ChudnovskyPartialSum sum) throws IOException {
+        byte[] numerator = sum.getNumerator().toByteArray();
+        out.writeByte(OK);
+        out.writeInt(sum.getFrom());
+        out.writeInt(sum.getTo());
+        out.writeInt(numerator.length);
+        out.write(numerator);
+        out.flush();
+    }
+
+    static void writeError(DataOutputStream out, String message) throws IOException {
+        out.writeByte(ERROR);
+        out.writeUTF(message == null ? "Unknown error" : message);
+        out.flush();
+    }
+
+    /**
+     * Reads the response to the request for the range [from, to).
+     *
+     * @throws WorkerException If the worker could not calculate the range
+     * @throws IOException     If the connection failed or the response does not match the request
+     */
+    static ChudnovskyPartialSum readResult(DataInputStream in, int from, int to) throws IOException {
+        byte status = in.readByte();
+        if (status == ERROR) {
+            throw new WorkerException(in.readUTF());
+        }
+        if (status != OK) {
+            throw new IOException("Invalid response status " + status);
+        }
+        int resultFrom = in.readInt();
+        int resultTo = in.readInt();
+        if (resultFrom != from || resultTo != to) {
+            throw new IOException("Response for [" + resultFrom + ", " + resultTo + ") does not match the request [" + from + ", " + to + ")");
+        }
+        int length = in.readInt();
+        if (length < 1 || length > maxLength(to)) {
+            throw new IOException("Invalid numerator length " + length + " for [" + from + ", " + to + ")");
+        }
+        byte[] numerator = new byte[length];
+        in.readFully(numerator);
+        return new ChudnovskyPartialSum(from, to, new BigInteger(numerator));
+    }
+
+    /**
+     * The numerator of a sum up to the term to is at most the first term times the common denominator
+     * (-262537412640768000)^(to - 1), which has less than 58 bits per term. Longer numerators are rejected before they
+     * are allocated.
+     */
+    private static long maxLength(int to) {
+        return 8L * to + 16;
+    }
+
+    /**
+     * The worker was reachable, but failed to calculate the range. Retrying the range does not help.
+     */
+    static class WorkerException extends IOException {
+        WorkerException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package calculator.factorial;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import factorial.FactorialCalculator;
+
+/**
+ * Calculates factorials by the prime swing algorithm of Peter Luschny. The factorial is split into
+ * <pre>
+ * n! = ((n/2)!)^2 * swing(n)
+ * </pre>
+ * where the swing is the product of the prime powers p^e <= n, whose exponents follow directly from n. The factors of
+ * the swing are multiplied in a balanced product tree, so the expensive multiplications have operands of similar
+ * size. Since the prime factor 2 is handled by a single shift, only the odd parts of the factorials are multiplied.
+ * <p>
+ * The odd parts of the calculated factorials are kept in a cache, which is limited by the total number of bits. The
+ * least recently used factorials are evicted first. Due to the recursion the calculation of (6k)! reuses (3k)! from
+ * the cache, which the Chudnovsky calculator requested just before.
+ * <p>
+ * If a ForkJoinPool is given, the product trees are evaluated in parallel on that pool.
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+public class PrimeSwingFactorialCalculator implements FactorialCalculator<BigInteger> {
+
+    /**
+     * The default limit of the cache, 2^30 bits (128 MiB)
+     */
+    public static final long DEFAULT_CACHE_BITS = 1L << 30;
+
+    /**
+     * Ranges with less factors are multiplied sequentially
+     */
+    private static final int PARALLEL_THRESHOLD = 256;
+    private static final int LEAF_SIZE = 16;
+
+    private final long maxCacheBits;
+    private final ForkJoinPool pool;
+
+    private final Map<Integer, BigInteger> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedBits;
+
+    private volatile int[] oddPrimes = new int[0];
+    private volatile int sieveLimit = 2;
+
+    public PrimeSwingFactorialCalculator() {
+        this(DEFAULT_CACHE_BITS);
+    }
+
+    public PrimeSwingFactorialCalculator(long maxCacheBits) {
+        this(maxCacheBits, null);
+    }
+
+    /**
+     * @param maxCacheBits The maximum number of bits of all cached factorials, 0 disables the cache
+     * @param pool         The pool which evaluates the product trees in parallel, null to multiply sequentially
+     */
+    public PrimeSwingFactorialCalculator(long maxCacheBits, ForkJoinPool pool) {
+        if (maxCacheBits < 0) {
+            throw new IllegalArgumentException("Cache size cannot be negative");
+        }
+        this.maxCacheBits = maxCacheBits;
+        this.pool = pool;
+    }
+
+    @Override
+    public BigInteger factorial(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Factorial of a negative number is not defined");
+        }
+        // n! contains the factor 2 exactly n - bitCount(n) times
+        return oddFactorial(n, primes(n)).shiftLeft(n - Integer.bitCount(n));
+    }
+
+    /**
+     * @return The number of bits of all cached factorials
+     */
+    public long getCachedBits() {
+        synchronized (cache) {
+            return cachedBits;
+        }
+    }
+
+    public void clearCache() {
+        synchronized (cache) {
+            cache.clear();
+            cachedBits = 0;
+        }
+    }
+
+    /**
+     * Calculates the odd part of n!, which is the odd part of (n/2)! squared, times the odd part of swing(n).
+     */
+    private BigInteger oddFactorial(int n, int[] primes) {
+        if (n < 3) {
+            return BigInteger.ONE;
+        }
+        BigInteger cached = lookup(n);
+        if (cached != null) {
+            return cached;
+        }
+        BigInteger half = oddFactorial(n / 2, primes);
+        BigInteger result = half.multiply(half).multiply(oddSwing(n, primes));
+        store(n, result);
+        return result;
+    }
+
+    /**
+     * Calculates the odd part of swing(n) = n! / ((n/2)!)^2. The exponent of a prime p in swing(n) is the number of
+     * odd quotients n / p^i, and each of the prime powers is at most n.
+     */
+    private BigInteger oddSwing(int n, int[] primes) {
+        int count = upperBound(primes, n);
+        long[] factors = new long[count];
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            int p = primes[i];
+            long factor = 1;
+            int q = n;
+            while ((q /= p) > 0) {
+                if ((q & 1) == 1) {
+                    factor *= p;
+                }
+            }
+            if (factor > 1) {
+                factors[size++] = factor;
+            }
+        }
+        if (pool != null && size > PARALLEL_THRESHOLD) {
+            return pool.invoke(new ProductTask(factors, 0, size));
+        }
+        return product(factors, 0, size);
+    }
+
+    /**
+     * Multiplies the factors [from, to) in a balanced product tree.
+     */
+    private static BigInteger product(long[] factors, int from, int to) {
+        if (to - from <= LEAF_SIZE) {
+            return leafProduct(factors, from, to);
+        }
+        int mid = (from + to) >>> 1;
+        return product(factors, from, mid).multiply(product(factors, mid, to));
+    }
+
+    /**
+     * Multiplies a few factors. The factors are collected in a long as long as the product does not overflow.
+     */
+    private static BigInteger leafProduct(long[] factors, int from, int to) {
+        BigInteger result = BigInteger.ONE;
+        long partial = 1;
+        for (int i = from; i < to; i++) {
+            long factor = factors[i];
+            if (partial > Long.MAX_VALUE / factor) {
+                result = result.multiply(BigInteger.valueOf(partial));
+                partial = 1;
+            }
+            partial *= factor;
+        }
+        return result.multiply(BigInteger.valueOf(partial));
+    }
+
+    private BigInteger lookup(int n) {
+        synchronized (cache) {
+            return cache.get(n);
+        }
+    }
+
+    private void store(int n, BigInteger value) {
+        long bits = value.bitLength();
+        if (bits > maxCacheBits) {
+            return;
+        }
+        synchronized (cache) {
+            BigInteger previous = cache.put(n, value);
+            if (previous != null) {
+                cachedBits -= previous.bitLength();
+            }
+            cachedBits += bits;
+            Iterator<BigInteger> iterator = cache.values().iterator();
+            while (cachedBits > maxCacheBits) {
+                cachedBits -= iterator.next().bitLength();
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Returns the odd primes up to at least n. The sieve is extended by at least the factor 2, so the primes are only
+     * sieved a logarithmic number of times while the arguments grow.
+     */
+    private int[] primes(int n) {
+        if (n <= sieveLimit) {
+            return oddPrimes;
+        }
+        synchronized (this) {
+            if (n > sieveLimit) {
+                int limit = (int) Math.min(Integer.MAX_VALUE - 1L, Math.max(n, 2L * sieveLimit));
+                oddPrimes = sieveOddPrimes(limit);
+                sieveLimit = limit;
+            }
+            return oddPrimes;
+        }
+    }
+
+    /**
+     * Sieve of Eratosthenes on the odd numbers. Bit i represents the number 2i + 1.
+     */
+    private static int[] sieveOddPrimes(int limit) {
+        int size = (limit - 1) / 2 + 1;
+        BitSet composite = new BitSet(size);
+        composite.set(0);
+        for (long p = 3; p * p <= limit; p += 2) {
+            if (!composite.get((int) (p / 2))) {
+                for (long multiple = p * p; multiple <= limit; multiple += 2 * p) {
+                    composite.set((int) (multiple / 2));
+                }
+            }
+        }
+        int[] primes = new int[size - composite.cardinality()];
+        int count = 0;
+        for (int i = composite.nextClearBit(0); i < size; i = composite.nextClearBit(i + 1)) {
+            primes[count++] = 2 * i + 1;
+        }
+        return primes;
+    }
+
+    /**
+     * @return The number of primes which are less than or equal to n
+     */
+    private static int upperBound(int[] primes, int n) {
+        int index = Arrays.binarySearch(primes, n);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    private static class ProductTask extends RecursiveTask<BigInteger> {
+        private final long[] factors;
+        private final int from;
+        private final int to;
+
+        ProductTask(long[] factors, int from, int to) {
+            this.factors = factors;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected BigInteger compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                return product(factors, from, to);
+            }
+            int mid = (from + to) >>> 1;
+            ProductTask left = new ProductTask(factors, from, mid);
+            left.fork();
+            BigInteger right = new ProductTask(factors, mid, to).compute();
+            return left.join().multiply(right);
+        }
+    }
+}
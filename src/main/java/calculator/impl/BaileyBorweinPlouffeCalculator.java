@@ -4,22 +4,94 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.MathContext;
 import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import calculator.metrics.Phase;
+import calculator.multiplication.Multiplier;
+import calculator.tools.CancellableExecutor;
+import calculator.tools.FixedPoint;
+import calculator.tools.TreeReduction;
+import calculator.tools.WindowedReduction;
+
 /**
  * https://en.wikipedia.org/wiki/Bailey%E2%80%93Borwein%E2%80%93Plouffe_formula
+ * <p>
+ * Besides the full precision sum, this calculator supports the digit extraction of the BBP formula, which calculates
+ * hexadecimal digits of PI at an arbitrary position without calculating the digits in front of them. See
+ * {@link #hexDigitsAsync(long, int)}.
  *
  * @author Stefan
  * @version 1.0
  */
 public class BaileyBorweinPlouffeCalculator extends PiCalculatorImpl {
 
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+    // the maximum number of hexadecimal digits taken from a single evaluation
+    private static final int MAX_BLOCK_DIGITS = 8;
+    // the number of correct bits of a double (53), minus 8 bits of safety margin
+    private static final int RELIABLE_BITS = 45;
+    // terms of the tail sum smaller than this do not change the result
+    private static final double EPSILON = 1e-17;
+    // keeps the moduli 8k + j below 2^52, where the quotient estimate of mulMod is exact enough
+    private static final long MAX_POSITION = 1L << 49;
+    // 120k^2 overflows a long beyond k = 2.7e8, larger terms of the fixed point sum are calculated with BigInteger
+    private static final long MAX_LONG_TERM = 250_000_000L;
+    private static final int DEFAULT_BATCH_SIZE = 256;
+    // number of terms of the digit extraction between two checks for cancellation
+    private static final int CANCELLATION_INTERVAL = 1 << 16;
+
+    private boolean exactAccumulation;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
     public BaileyBorweinPlouffeCalculator(ExecutorService service) {
         super(service);
     }
 
+    public BaileyBorweinPlouffeCalculator(ExecutorService service, Multiplier multiplier) {
+        super(service, multiplier);
+    }
+
+    public boolean isExactAccumulation() {
+        return exactAccumulation;
+    }
+
+    /**
+     * Enables or disables the exact accumulation of the sum. If enabled, the terms are calculated and summed up as
+     * binary fixed point numbers, where the division by 16^k is a shift and the remaining divisions only have small
+     * divisors. The terms are processed in batches of {@link #getBatchSize()} terms per task. The sum is converted into
+     * a decimal number once at the very end. Since no term is calculated as a decimal number, no iteration events are
+     * reported in this mode.
+     *
+     * @param exactAccumulation true to sum up the terms as fixed point numbers
+     */
+    public void setExactAccumulation(boolean exactAccumulation) {
+        this.exactAccumulation = exactAccumulation;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets the number of terms calculated by a single task if the exact accumulation is enabled. Larger batches need
+     * fewer full precision divisions, smaller batches can be distributed better across the executor.
+     *
+     * @param batchSize The number of terms per task. (>=1)
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be >= 1");
+        }
+        this.batchSize = batchSize;
+    }
+
     @Override
     public CompletableFuture<BigDecimal> calculateAsync(int iterations) {
         MathContext context = new MathContext(20, RoundingMode.DOWN);
@@ -27,40 +99,264 @@ public class BaileyBorweinPlouffeCalculator extends PiCalculatorImpl {
     }
 
     @Override
-    public CompletableFuture<BigDecimal> calculateAsync(int iterations, MathContext precision) {
-        return sumBBP(iterations, precision);
+    CompletableFuture<BigDecimal> calculateAsync(int iterations, MathContext precision, CancellableExecutor executor) {
+        if (exactAccumulation) {
+            return sumBBPFixedPoint(iterations, precision, executor);
+        }
+        return sumBBP(iterations, precision, executor);
+    }
+
+    /**
+     * Calculates hexadecimal digits of the fractional part of PI using the digit extraction of the BBP formula. Each
+     * block of digits is calculated independently with double precision arithmetic and modular exponentiation, so the
+     * cost of a block only depends on its position (O(n log n)), and the blocks are calculated concurrently on the
+     * executor. The number of digits taken from a single evaluation shrinks with the position, since the rounding error
+     * of the double sum grows with the number of terms.
+     *
+     * @param position The number of hexadecimal digits in front of the first requested digit. (>=0, <2^49) Position 0
+     *                 returns the digits starting with 243F6A88...
+     * @param count    The number of digits. (>=0)
+     * @return A CompletableFuture, containing the digits as upper case string. Cancelling the future stops the
+     * calculation.
+     */
+    public CompletableFuture<String> hexDigitsAsync(long position, int count) {
+        if (position < 0) {
+            throw new IllegalArgumentException("position must be >= 0");
+        }
+        if (count < 0) {
+            throw new IllegalArgumentException("count must be >= 0");
+        }
+        // position + count could overflow
+        if (position > MAX_POSITION - count) {
+            throw new IllegalArgumentException("position + count must be <= " + MAX_POSITION);
+        }
+        CancellableExecutor executor = new CancellableExecutor(service);
+        List<CompletableFuture<char[]>> blocks = new ArrayList<>();
+        long end = position + count;
+        for (long start = position; start < end; ) {
+            long blockStart = start;
+            int blockDigits = (int) Math.min(blockDigits(blockStart), end - blockStart);
+            blocks.add(CompletableFuture.supplyAsync(() -> hexDigits(blockStart, blockDigits, executor), executor));
+            start += blockDigits;
+        }
+        return executor.bind(CompletableFuture.allOf(blocks.toArray(new CompletableFuture[0]))
+                                              .thenApply(ignored -> {
+                                                  StringBuilder builder = new StringBuilder(count);
+                                                  blocks.forEach(block -> builder.append(block.join()));
+                                                  return builder.toString();
+                                              }));
+    }
+
+    /**
+     * Returns the number of digits which can be taken from a single evaluation at the given position. The rounding
+     * errors of the terms are assumed to cancel out like a random walk, so the error grows with the square root of the
+     * number of terms.
+     */
+    private static int blockDigits(long position) {
+        int positionBits = 64 - Long.numberOfLeadingZeros(position);
+        return Math.max(1, Math.min(MAX_BLOCK_DIGITS, (RELIABLE_BITS - positionBits / 2) / 4));
+    }
+
+    private static char[] hexDigits(long position, int count, CancellableExecutor executor) {
+        double fraction = 4 * bbpSeries(1, position, executor) - 2 * bbpSeries(4, position, executor)
+                - bbpSeries(5, position, executor) - bbpSeries(6, position, executor);
+        fraction -= Math.floor(fraction);
+        char[] digits = new char[count];
+        for (int i = 0; i < count; i++) {
+            fraction *= 16;
+            int digit = (int) fraction;
+            digits[i] = HEX_DIGITS[digit];
+            fraction -= digit;
+        }
+        return digits;
+    }
+
+    /**
+     * Calculates the fractional part of 16^d * sum(1 / (16^k * (8k + j))). The terms with k <= d are reduced by
+     * modular exponentiation, so only their fractional part is summed up.
+     */
+    private static double bbpSeries(int j, long d, CancellableExecutor executor) {
+        double sum = 0;
+        for (long k = 0; k <= d; k++) {
+            if (k % CANCELLATION_INTERVAL == 0) {
+                executor.throwIfCancelled();
+            }
+            long denominator = 8 * k + j;
+            sum += (double) powMod(16, d - k, denominator) / denominator;
+            sum -= Math.floor(sum);
+        }
+        double power = 1.0 / 16;
+        for (long k = d + 1; power > EPSILON; k++) {
+            sum += power / (8 * k + j);
+            power /= 16;
+        }
+        return sum - Math.floor(sum);
+    }
+
+    private static long powMod(long base, long exponent, long modulus) {
+        if (modulus == 1) {
+            return 0;
+        }
+        long result = 1;
+        base %= modulus;
+        while (exponent > 0) {
+            if ((exponent & 1) == 1) {
+                result = mulMod(result, base, modulus);
+            }
+            base = mulMod(base, base, modulus);
+            exponent >>= 1;
+        }
+        return result;
+    }
+
+    /**
+     * Multiplies two numbers modulo the modulus. For moduli below 2^31 the product fits into a long. Larger moduli (up
+     * to 2^52) use the quotient estimated by a double multiplication, whose error is corrected afterwards.
+     */
+    private static long mulMod(long a, long b, long modulus) {
+        if (modulus < (1L << 31)) {
+            return a * b % modulus;
+        }
+        long quotient = (long) ((double) a * b / modulus);
+        long remainder = a * b - quotient * modulus;
+        while (remainder < 0) {
+            remainder += modulus;
+        }
+        while (remainder >= modulus) {
+            remainder -= modulus;
+        }
+        return remainder;
+    }
+
+    private CompletableFuture<BigDecimal> sumBBPFixedPoint(int k, MathContext context, CancellableExecutor executor) {
+        int fractionBits = FixedPoint.fractionBits(context);
+        // terms beyond this index are smaller than the resolution of the fixed point number
+        int last = Math.min(k, fractionBits / 4 + 1);
+        int size = batchSize;
+        int batches = (int) ((last + (long) size) / size);
+        IntFunction<CompletableFuture<BigInteger>> tasks = batch -> {
+            int batchFrom = batch * size;
+            int batchTo = (int) Math.min(last + 1L, (long) batchFrom + size);
+            return CompletableFuture.supplyAsync(() -> calculateBBPFixedPoint(batchFrom, batchTo, fractionBits), executor);
+        };
+        Executor summation = metrics.executor(Phase.SUMMATION, executor);
+        CompletableFuture<BigInteger> fixedPointSum;
+        if (isStreamingSummation()) {
+            fixedPointSum = WindowedReduction.reduce(batches, tasks, BigInteger::add, BigInteger.ZERO, summationWindow(), summation);
+        } else {
+            List<CompletableFuture<BigInteger>> futures = new ArrayList<>(batches);
+            for (int batch = 0; batch < batches; batch++) {
+                futures.add(tasks.apply(batch));
+            }
+            fixedPointSum = TreeReduction.reduce(futures, BigInteger::add, BigInteger.ZERO, summation);
+        }
+        return fixedPointSum.thenApply(metrics.function(Phase.FINAL_DIVISION, sum -> FixedPoint.toBigDecimal(sum, fractionBits, context, multiplier)));
+    }
+
+    /**
+     * Calculates the sum of the terms [from, to) of the BBP sum as binary fixed point number. The four fractions of a
+     * term are combined into a single one:
+     * <pre>
+     * 4 / (8k + 1) - 2 / (8k + 4) - 1 / (8k + 5) - 1 / (8k + 6) = (120k^2 + 151k + 47) / ((8k + 1)(2k + 1)(8k + 5)(4k + 3))
+     * </pre>
+     * The terms of the batch are summed up exactly as a single fraction using the Horner scheme, where the division by
+     * 16 is a shift. So only one full precision division is required per batch, whose divisor is small compared to the
+     * fixed point number.
+     *
+     * @param from         The index of the first term (inclusive)
+     * @param to           The index of the last term (exclusive)
+     * @param fractionBits The number of fraction bits of the result
+     * @return The sum of the terms as fixed point number
+     */
+    private BigInteger calculateBBPFixedPoint(int from, int to, int fractionBits) {
+        BigInteger[] fraction = metrics.get(Phase.TERMS, () -> combineBBPTerms(from, to));
+        BigInteger numerator = fraction[0];
+        BigInteger denominator = fraction[1];
+        long shift = fractionBits - 4L * (to - 1);
+        return metrics.get(Phase.DIVISION, () -> {
+            if (shift >= 0) {
+                return numerator.shiftLeft((int) shift).divide(denominator);
+            }
+            return numerator.divide(denominator.shiftLeft((int) -shift));
+        });
+    }
+
+    /**
+     * Combines the terms [from, to) of the BBP sum into a single fraction numerator / (denominator * 16^(to - 1)).
+     *
+     * @return The numerator and the denominator
+     */
+    private static BigInteger[] combineBBPTerms(int from, int to) {
+        // sum = numerator / (denominator * 16^(to - 1 - from))
+        BigInteger numerator = termNumerator(to - 1);
+        BigInteger denominator = termDenominator(to - 1);
+        for (int k = to - 2; k >= from; k--) {
+            BigInteger termDenominator = termDenominator(k);
+            numerator = termNumerator(k).multiply(denominator).shiftLeft(4 * (to - 1 - k))
+                                        .add(numerator.multiply(termDenominator));
+            denominator = denominator.multiply(termDenominator);
+        }
+        return new BigInteger[]{numerator, denominator};
+    }
+
+    static BigInteger termNumerator(long k) {
+        if (k > MAX_LONG_TERM) {
+            BigInteger index = BigInteger.valueOf(k);
+            return index.multiply(BigInteger.valueOf(120)).add(BigInteger.valueOf(151)).multiply(index).add(BigInteger.valueOf(47));
+        }
+        return BigInteger.valueOf(120 * k * k + 151 * k + 47);
+    }
+
+    static BigInteger termDenominator(long k) {
+        if (k > MAX_LONG_TERM) {
+            return BigInteger.valueOf(8 * k + 1).multiply(BigInteger.valueOf(2 * k + 1))
+                             .multiply(BigInteger.valueOf(8 * k + 5).multiply(BigInteger.valueOf(4 * k + 3)));
+        }
+        return BigInteger.valueOf((8 * k + 1) * (2 * k + 1))
+                         .multiply(BigInteger.valueOf((8 * k + 5) * (4 * k + 3)));
     }
 
-    private CompletableFuture<BigDecimal> sumBBP(int k, MathContext context) {
-        return IntStream.rangeClosed(0, k)
-                        .mapToObj(i -> calculateBBP(i, context))
-                        .reduce((f1, f2) -> f1.thenCombine(f2, BigDecimal::add)).orElse(CompletableFuture.completedFuture(BigDecimal.ZERO));
+    private CompletableFuture<BigDecimal> sumBBP(int k, MathContext context, CancellableExecutor executor) {
+        if (isStreamingSummation()) {
+            return WindowedReduction.reduce(k + 1, i -> calculateBBP(i, context, executor), BigDecimal::add, BigDecimal.ZERO,
+                    summationWindow(), metrics.executor(Phase.SUMMATION, executor));
+        }
+        List<CompletableFuture<BigDecimal>> futures = IntStream.rangeClosed(0, k)
+                                                               .mapToObj(i -> calculateBBP(i, context, executor))
+                                                               .collect(Collectors.toList());
+        return TreeReduction.reduce(futures, BigDecimal::add, BigDecimal.ZERO, metrics.executor(Phase.SUMMATION, executor));
     }
 
-    private CompletableFuture<BigDecimal> calculateBBP(int k, MathContext context) {
+    private CompletableFuture<BigDecimal> calculateBBP(int k, MathContext context, CancellableExecutor executor) {
 
         CompletableFuture<BigDecimal> t0Future =
-                CompletableFuture.supplyAsync(() -> BigDecimal.valueOf(16).pow(k), service)
-                                 .thenApply(i -> BigDecimal.ONE.divide(i, context));
+                CompletableFuture.supplyAsync(metrics.supplier(Phase.DENOMINATOR, () -> BigDecimal.valueOf(16).pow(k)), executor)
+                                 .thenApply(metrics.function(Phase.DIVISION, i -> BigDecimal.ONE.divide(i, context)));
         CompletableFuture<BigInteger> t1Future =
                 CompletableFuture.supplyAsync(() -> BigInteger.valueOf(8)
-                                                              .multiply(BigInteger.valueOf(k)));
+                                                              .multiply(BigInteger.valueOf(k)), executor);
         CompletableFuture<BigDecimal> fraction1 =
-                t1Future.thenApply(res -> calculateFraction(res, 4, 1, context));
+                t1Future.thenApply(metrics.function(Phase.DIVISION, res -> calculateFraction(res, 4, 1, context)));
         CompletableFuture<BigDecimal> fraction2 =
-                t1Future.thenApply(res -> calculateFraction(res, 2, 4, context));
+                t1Future.thenApply(metrics.function(Phase.DIVISION, res -> calculateFraction(res, 2, 4, context)));
         CompletableFuture<BigDecimal> fraction3 =
-                t1Future.thenApply(res -> calculateFraction(res, 1, 5, context));
+                t1Future.thenApply(metrics.function(Phase.DIVISION, res -> calculateFraction(res, 1, 5, context)));
         CompletableFuture<BigDecimal> fraction4 =
-                t1Future.thenApply(res -> calculateFraction(res, 1, 6, context));
+                t1Future.thenApply(metrics.function(Phase.DIVISION, res -> calculateFraction(res, 1, 6, context)));
 
         CompletableFuture<BigDecimal> diffFuture = fraction1.thenCombine(fraction2, BigDecimal::subtract)
                                                             .thenCombine(fraction3, BigDecimal::subtract)
                                                             .thenCombine(fraction4, BigDecimal::subtract);
 
-        CompletableFuture<BigDecimal> future = t0Future.thenCombine(diffFuture, BigDecimal::multiply)
+        CompletableFuture<BigDecimal> future = t0Future.thenCombine(diffFuture, multiplier::multiply)
                                                        .thenApply(BigDecimal::stripTrailingZeros);
-        future.thenAccept(result -> this.iterationCompleted(k, result));
+        if (eventBus.hasListeners()) {
+            // queued within the stage producing the term, so the event precedes the flush at the end of the calculation
+            future = future.thenApply(result -> {
+                iterationCompleted(k, result);
+                return result;
+            });
+        }
         return future;
     }
 
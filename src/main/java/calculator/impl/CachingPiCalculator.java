@@ -0,0 +1,366 @@
+package calculator.impl;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+import calculator.AsyncPiCalculator;
+import calculator.PiCalculator;
+import calculator.SyncPiCalculator;
+
+/**
+ * Decorates a PI calculator with a cache of its results. A request is served from the cache if a cached result has
+ * been calculated with at least as many iterations and at least as many digits; the cached value is then rounded to
+ * the requested precision. All other requests are calculated by the decorated calculator and their results replace
+ * every cached result they dominate. Concurrent requests which can be served by the same calculation share it.
+ * <p>
+ * Results are calculated with some guard digits and {@link RoundingMode#DOWN}, so rounding them again to the
+ * requested precision and rounding mode yields the correctly rounded digits (except for the rare case where all guard
+ * digits are at a rounding boundary).
+ * <p>
+ * The memory used by the cache is bounded by the total number of cached digits. The least recently used results are
+ * evicted first. Optionally, results are also written to a directory, so they survive restarts. Files which cannot be
+ * read or written are ignored, since the cache can always fall back to calculating the result.
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+public class CachingPiCalculator implements PiCalculator {
+
+    // additional digits calculated for every result, so the cached value can be rounded to any smaller precision
+    private static final int GUARD_DIGITS = 10;
+    private static final String FILE_SUFFIX = ".txt";
+
+    private final PiCalculator calculator;
+    private final long maxDigits;
+    private final Path directory;
+    // ordered from least recently to most recently used
+    private final List<Entry> entries = new ArrayList<>();
+    private final List<Pending> pending = new ArrayList<>();
+    private long cachedDigits;
+    // guards the files of the directory, results may be stored concurrently
+    private final Object fileLock = new Object();
+
+    /**
+     * @param calculator The calculator whose results are cached
+     * @param maxDigits  The maximum number of digits kept in memory
+     */
+    public CachingPiCalculator(PiCalculator calculator, long maxDigits) {
+        this(calculator, maxDigits, null);
+    }
+
+    /**
+     * @param calculator The calculator whose results are cached
+     * @param maxDigits  The maximum number of digits kept in memory
+     * @param directory  The directory the results are persisted in, or null to keep them in memory only
+     */
+    public CachingPiCalculator(PiCalculator calculator, long maxDigits, Path directory) {
+        if (maxDigits < 0) {
+            throw new IllegalArgumentException("maxDigits must be >= 0");
+        }
+        if (directory != null && !Files.isDirectory(directory)) {
+            throw new IllegalArgumentException("Not a directory: " + directory);
+        }
+        this.calculator = calculator;
+        this.maxDigits = maxDigits;
+        this.directory = directory;
+    }
+
+    @Override
+    public CompletableFuture<BigDecimal> calculateAsync(int iterations) {
+        MathContext context = new MathContext(20);
+        return calculateAsync(iterations, context);
+    }
+
+    @Override
+    public CompletableFuture<BigDecimal> calculateAsync(int iterations, MathContext precision) {
+        if (iterations < 0) {
+            throw new IllegalArgumentException("Number of iterations cannot be negative");
+        }
+        if (precision.getPrecision() == 0) {
+            // an unlimited precision cannot be served by rounding
+            return calculator.calculateAsync(iterations, precision);
+        }
+        int digits = precision.getPrecision();
+        CompletableFuture<Entry> future;
+        synchronized (this) {
+            Entry entry = findEntry(iterations, digits);
+            if (entry != null) {
+                entries.remove(entry);
+                entries.add(entry);
+                return CompletableFuture.completedFuture(entry.value.round(precision));
+            }
+            Pending calculation = findPending(iterations, digits);
+            if (calculation != null) {
+                return calculation.future.thenApply(result -> result.value.round(precision));
+            }
+            if (directory == null) {
+                future = calculateEntryAsync(iterations, digits);
+            } else {
+                future = CompletableFuture.supplyAsync(() -> load(iterations, digits), executorOf(calculator))
+                                          .thenCompose(result -> result != null ? CompletableFuture.completedFuture(result) : calculateEntryAsync(iterations, digits));
+            }
+            Pending newCalculation = new Pending(iterations, digits, future);
+            pending.add(newCalculation);
+            // the result is returned after it has been cached, so a following request can be served from the cache
+            future = future.whenComplete((result, throwable) -> completed(newCalculation, result));
+        }
+        return future.thenApply(result -> result.value.round(precision));
+    }
+
+    @Override
+    public void setExecutorService(ExecutorService service) {
+        calculator.setExecutorService(service);
+    }
+
+    @Override
+    public BigDecimal calculate(int iterations) {
+        try {
+            return calculateAsync(iterations).get();
+        } catch (InterruptedException | ExecutionException e) {
+            e.printStackTrace();
+        }
+        throw new RuntimeException();
+    }
+
+    @Override
+    public BigDecimal calculate(int iterations, MathContext precision) {
+        try {
+            return calculateAsync(iterations, precision).get();
+        } catch (InterruptedException | ExecutionException e) {
+            e.printStackTrace();
+        }
+        throw new RuntimeException();
+    }
+
+    @Override
+    public AsyncPiCalculator parallel() {
+        return this;
+    }
+
+    @Override
+    public SyncPiCalculator sequential() {
+        return this;
+    }
+
+    /**
+     * @return The number of digits currently cached in memory
+     */
+    public synchronized long getCachedDigits() {
+        return cachedDigits;
+    }
+
+    /**
+     * Removes all results from memory. Persisted results are kept.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        cachedDigits = 0;
+    }
+
+    private CompletableFuture<Entry> calculateEntryAsync(int iterations, int digits) {
+        int precision = digits + GUARD_DIGITS;
+        return calculator.calculateAsync(iterations, new MathContext(precision, RoundingMode.DOWN))
+                         .thenApply(value -> {
+                             Entry entry = new Entry(iterations, precision, value);
+                             store(entry);
+                             return entry;
+                         });
+    }
+
+    private synchronized void completed(Pending calculation, Entry result) {
+        pending.remove(calculation);
+        if (result == null || maxDigits < result.precision) {
+            return;
+        }
+        Iterator<Entry> iterator = entries.iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.dominates(result.iterations, result.precision)) {
+                return;
+            }
+            if (result.dominates(entry.iterations, entry.precision)) {
+                iterator.remove();
+                cachedDigits -= entry.precision;
+            }
+        }
+        entries.add(result);
+        cachedDigits += result.precision;
+        while (cachedDigits > maxDigits) {
+            cachedDigits -= entries.remove(0).precision;
+        }
+    }
+
+    private Entry findEntry(int iterations, int digits) {
+        for (Entry entry : entries) {
+            if (entry.dominates(iterations, digits + GUARD_DIGITS)) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    private Pending findPending(int iterations, int digits) {
+        for (Pending calculation : pending) {
+            if (calculation.iterations >= iterations && calculation.digits >= digits) {
+                return calculation;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Searches the directory for a persisted result which dominates the request.
+     *
+     * @return The smallest dominating result or null, if there is none
+     */
+    private Entry load(int iterations, int digits) {
+        Path best = null;
+        int bestPrecision = Integer.MAX_VALUE;
+        int bestIterations = 0;
+        synchronized (fileLock) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, filePrefix() + "*" + FILE_SUFFIX)) {
+                for (Path file : files) {
+                    int[] key = parseFileName(file);
+                    if (key != null && key[0] >= iterations && key[1] >= digits + GUARD_DIGITS && key[1] < bestPrecision) {
+                        best = file;
+                        bestIterations = key[0];
+                        bestPrecision = key[1];
+                    }
+                }
+                if (best == null) {
+                    return null;
+                }
+                String value = new String(Files.readAllBytes(best), StandardCharsets.US_ASCII).trim();
+                return new Entry(bestIterations, bestPrecision, new BigDecimal(value));
+            } catch (IOException | RuntimeException e) {
+                e.printStackTrace();
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Persists a result and removes all persisted results it dominates, unless a persisted result dominates it.
+     */
+    private void store(Entry entry) {
+        if (directory == null) {
+            return;
+        }
+        synchronized (fileLock) {
+            try {
+                Path file = directory.resolve(filePrefix() + entry.iterations + "-" + entry.precision + FILE_SUFFIX);
+                List<Path> dominated = new ArrayList<>();
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, filePrefix() + "*" + FILE_SUFFIX)) {
+                    for (Path other : files) {
+                        int[] key = parseFileName(other);
+                        if (key == null) {
+                            continue;
+                        }
+                        // a result which completed later than a dominating one is not persisted
+                        if (key[0] >= entry.iterations && key[1] >= entry.precision) {
+                            return;
+                        }
+                        if (entry.dominates(key[0], key[1])) {
+                            dominated.add(other);
+                        }
+                    }
+                }
+
+                Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+                Files.write(temporary, entry.value.toString().getBytes(StandardCharsets.US_ASCII));
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                for (Path other : dominated) {
+                    Files.deleteIfExists(other);
+                }
+            } catch (IOException | RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * @return The iterations and the precision of a persisted result, or null if the file name does not describe one
+     */
+    private int[] parseFileName(Path file) {
+        String name = file.getFileName().toString();
+        String[] parts = name.substring(filePrefix().length(), name.length() - FILE_SUFFIX.length()).split("-");
+        if (parts.length != 2) {
+            return null;
+        }
+        try {
+            return new int[]{Integer.parseInt(parts[0]), Integer.parseInt(parts[1])};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Results of different algorithms differ for the same number of iterations, so the files are named after the
+     * decorated calculator. Anonymous subclasses have no name, so the nearest named superclass is used instead.
+     */
+    private String filePrefix() {
+        Class<?> type = calculator.getClass();
+        while (type.isAnonymousClass()) {
+            type = type.getSuperclass();
+        }
+        return type.getSimpleName() + "-";
+    }
+
+    /**
+     * @return The executor of the given calculator, or an executor running the tasks in the calling thread if it is
+     * unknown
+     */
+    private static Executor executorOf(PiCalculator calculator) {
+        if (calculator instanceof CachingPiCalculator) {
+            return executorOf(((CachingPiCalculator) calculator).calculator);
+        }
+        if (calculator instanceof PiCalculatorImpl) {
+            return ((PiCalculatorImpl) calculator).service;
+        }
+        return Runnable::run;
+    }
+
+    private static final class Entry {
+
+        private final int iterations;
+        private final int precision;
+        private final BigDecimal value;
+
+        private Entry(int iterations, int precision, BigDecimal value) {
+            this.iterations = iterations;
+            this.precision = precision;
+            this.value = value;
+        }
+
+        private boolean dominates(int iterations, int precision) {
+            return this.iterations >= iterations && this.precision >= precision;
+        }
+    }
+
+    private static final class Pending {
+
+        private final int iterations;
+        private final int digits;
+        private final CompletableFuture<Entry> future;
+
+        private Pending(int iterations, int digits, CompletableFuture<Entry> future) {
+            this.iterations = iterations;
+            this.digits = digits;
+            this.future = future;
+        }
+    }
+}
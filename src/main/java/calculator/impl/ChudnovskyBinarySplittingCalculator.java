@@ -0,0 +1,239 @@
+package calculator.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+import calculator.multiplication.Multiplier;
+import calculator.multiplication.impl.JavaMultiplier;
+import calculator.storage.MappedArithmetic;
+import calculator.storage.MappedStorage;
+import calculator.tools.CancellableExecutor;
+import calculator.tools.FixedPoint;
+import calculator.tools.NewtonRaphson;
+import calculator.tools.PrecisionProvider;
+
+/**
+ * Implements the Chudnovsky algorithm using binary splitting. Instead of dividing every term on its own, the products
+ * P, Q and T are calculated recursively over term ranges. Ranges larger than the leaf threshold are split in half and
+ * calculated concurrently, so the work is distributed across the executor (preferably a work stealing / fork join
+ * pool). Only a single full precision division is done at the very end.
+ * <p>
+ * This calculator does not report single iterations, since no term is ever calculated as a decimal number on its own.
+ * <p>
+ * If a {@link MappedStorage} is set, the calculator works out-of-core: the products of ranges whose estimated size
+ * exceeds the spill threshold are stored in memory mapped files and combined by {@link MappedArithmetic}. For the final
+ * division only the leading bits of Q and T are copied back to the heap, so the heap only needs to hold numbers of
+ * about the size of the result and the spill threshold.
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+public class ChudnovskyBinarySplittingCalculator extends PiCalculatorImpl implements PrecisionProvider {
+
+    private static final BigInteger number3 = BigInteger.valueOf(10005);
+    private static final BigInteger number4 = BigInteger.valueOf(426880);
+
+    private static final int DEFAULT_LEAF_THRESHOLD = 64;
+    // additional digits used for intermediate results, so rounding errors do not show up in the result
+    private static final int GUARD_DIGITS = 10;
+    // 8 MiB per product
+    private static final long DEFAULT_SPILL_THRESHOLD = 1L << 26;
+    // log2(640320^3 / 24), the number of bits added to Q per term besides k^3
+    private static final double LOG2_NUMBER5 = Math.log(10939058860032000.0) / Math.log(2);
+
+    private final int leafThreshold;
+    private MappedStorage storage;
+    private long spillThreshold = DEFAULT_SPILL_THRESHOLD;
+
+    public ChudnovskyBinarySplittingCalculator(ExecutorService service) {
+        this(service, DEFAULT_LEAF_THRESHOLD);
+    }
+
+    /**
+     * @param service       The executor the term ranges are calculated on
+     * @param leafThreshold Ranges with at most this many terms are calculated sequentially by a single task
+     */
+    public ChudnovskyBinarySplittingCalculator(ExecutorService service, int leafThreshold) {
+        this(service, leafThreshold, new JavaMultiplier());
+    }
+
+    /**
+     * @param service       The executor the term ranges are calculated on
+     * @param leafThreshold Ranges with at most this many terms are calculated sequentially by a single task
+     * @param multiplier    The multiplier used for the products of the term ranges
+     */
+    public ChudnovskyBinarySplittingCalculator(ExecutorService service, int leafThreshold, Multiplier multiplier) {
+        super(service, multiplier);
+        if (leafThreshold < 1) {
+            throw new IllegalArgumentException("leafThreshold must be >= 1");
+        }
+        this.leafThreshold = leafThreshold;
+    }
+
+    @Override
+    public CompletableFuture<BigDecimal> calculateAsync(int iterations) {
+        MathContext context = new MathContext(20);
+        return calculateAsync(iterations, context);
+    }
+
+    @Override
+    CompletableFuture<BigDecimal> calculateAsync(int iterations, MathContext precision, CancellableExecutor executor) {
+        if (iterations < 0) {
+            throw new IllegalArgumentException("Number of iterations cannot be negative");
+        }
+        if (precision.getPrecision() == 0) {
+            throw new IllegalArgumentException("Unlimited precision is not supported");
+        }
+        MathContext workingContext = new MathContext(precision.getPrecision() + GUARD_DIGITS, precision.getRoundingMode());
+        CompletableFuture<BigDecimal> constant = chudnovskyConstantAsync(workingContext, executor);
+        if (storage != null) {
+            MappedArithmetic arithmetic = new MappedArithmetic(storage, multiplier);
+            CompletableFuture<StoredRangeProduct> products = storedRangeProductAsync(0, iterations + 1, arithmetic, executor);
+            return constant.thenCombine(products, (bigDecimal, product) -> {
+                // Q / T only depends on the leading bits of both numbers
+                long shift = Math.max(0, Math.min(product.getQ().bitLength(), product.getT().bitLength()) - FixedPoint.fractionBits(workingContext));
+                return NewtonRaphson.divide(multiplier.multiply(new BigDecimal(product.getQ().truncate(shift)), bigDecimal),
+                        new BigDecimal(product.getT().truncate(shift)), workingContext, multiplier).round(precision);
+            });
+        }
+        CompletableFuture<ChudnovskyRangeProduct> products = rangeProductAsync(0, iterations + 1, executor);
+        return constant.thenCombine(products, (bigDecimal, product) -> NewtonRaphson.divide(
+                multiplier.multiply(new BigDecimal(product.getQ()), bigDecimal),
+                new BigDecimal(product.getT()), workingContext, multiplier).round(precision));
+    }
+
+    public MappedStorage getStorage() {
+        return storage;
+    }
+
+    /**
+     * Enables or disables the out-of-core mode.
+     *
+     * @param storage The storage for the products exceeding the spill threshold, or null to keep all products on the
+     *                heap
+     */
+    public void setStorage(MappedStorage storage) {
+        this.storage = storage;
+    }
+
+    public long getSpillThreshold() {
+        return spillThreshold;
+    }
+
+    /**
+     * Sets the size above which the products of a range are stored in the out-of-core mode. Smaller ranges are
+     * calculated on the heap and stored afterwards.
+     *
+     * @param spillThreshold The estimated number of bits of Q(a, b). (>=0)
+     */
+    public void setSpillThreshold(long spillThreshold) {
+        if (spillThreshold < 0) {
+            throw new IllegalArgumentException("spillThreshold must be >= 0");
+        }
+        this.spillThreshold = spillThreshold;
+    }
+
+    @Override
+    public int getNumIterations(int precision) {
+        if (precision < 0) {
+            throw new IllegalArgumentException("precision argument must be >= 0");
+        }
+        long l = 151931373056000L;
+        double precisionPerIteration = Math.log10(l);
+        return (int) (precision / precisionPerIteration);
+    }
+
+    @Override
+    public int getPrecision(int iterations) {
+        if (iterations < 0) {
+            throw new IllegalArgumentException("iterations argument must be >= 0");
+        }
+        long l = 151931373056000L;
+        double precisionPerIteration = Math.log10(l);
+        return (int) ((iterations + 1) * precisionPerIteration);
+    }
+
+    /**
+     * Calculates the binary splitting products of the term range [from, to). Ranges above the leaf threshold are split
+     * in half and both halves are calculated concurrently.
+     *
+     * @param from     The index of the first term (inclusive)
+     * @param to       The index of the last term (exclusive)
+     * @param executor The executor of the calculation
+     * @return A CompletableFuture, containing the products of the range
+     */
+    private CompletableFuture<ChudnovskyRangeProduct> rangeProductAsync(int from, int to, CancellableExecutor executor) {
+        if (to - from <= leafThreshold) {
+            return CompletableFuture.supplyAsync(() -> ChudnovskyRangeProduct.compute(from, to, multiplier), executor);
+        }
+        int mid = (from + to) >>> 1;
+        CompletableFuture<ChudnovskyRangeProduct> left = rangeProductAsync(from, mid, executor);
+        CompletableFuture<ChudnovskyRangeProduct> right = rangeProductAsync(mid, to, executor);
+        return left.thenCombineAsync(right, (product1, product2) -> product1.combine(product2, multiplier), executor);
+    }
+
+    /**
+     * Calculates the binary splitting products of the term range [from, to) in the out-of-core mode. Ranges whose
+     * products are estimated to exceed the spill threshold are split in half and combined in the storage, all other
+     * ranges are calculated on the heap and stored afterwards.
+     *
+     * @param from       The index of the first term (inclusive)
+     * @param to         The index of the last term (exclusive)
+     * @param arithmetic The arithmetic used for stored products
+     * @param executor   The executor of the calculation
+     * @return A CompletableFuture, containing the stored products of the range
+     */
+    private CompletableFuture<StoredRangeProduct> storedRangeProductAsync(int from, int to, MappedArithmetic arithmetic, CancellableExecutor executor) {
+        if (to - from <= leafThreshold || estimateBits(from, to) <= spillThreshold) {
+            return rangeProductAsync(from, to, executor).thenApplyAsync(product -> {
+                try {
+                    return StoredRangeProduct.store(product, storage);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, executor);
+        }
+        int mid = (from + to) >>> 1;
+        CompletableFuture<StoredRangeProduct> left = storedRangeProductAsync(from, mid, arithmetic, executor);
+        CompletableFuture<StoredRangeProduct> right = storedRangeProductAsync(mid, to, arithmetic, executor);
+        return left.thenCombineAsync(right, (product1, product2) -> {
+            try {
+                return product1.combine(product2, arithmetic);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Estimates the number of bits of Q(from, to), which is the largest of the three products.
+     */
+    private static double estimateBits(int from, int to) {
+        return (to - from) * (3 * Math.log(Math.max(to, 2)) / Math.log(2) + LOG2_NUMBER5);
+    }
+
+    /**
+     * Calculates the constant part of the Chudnovsky algorithm to a given precision.
+     *
+     * @param context  The mathematical context that will be applied to the result
+     * @param executor The executor of the calculation
+     * @return The constant part of the Chudnovsky algorithm as CompletableFuture
+     */
+    private CompletableFuture<BigDecimal> chudnovskyConstantAsync(MathContext context, CancellableExecutor executor) {
+        CompletableFuture<BigDecimal> constant = CompletableFuture.supplyAsync(() -> NewtonRaphson.sqrt(new BigDecimal(number3), context, multiplier), executor)
+                                                                  .thenApply(i -> new BigDecimal(number4).multiply(i));
+
+        if (eventBus.hasChudnovskyListeners()) {
+            constant = constant.thenApply(result -> {
+                eventBus.constantCalculated(result);
+                return result;
+            });
+        }
+        return constant;
+    }
+}
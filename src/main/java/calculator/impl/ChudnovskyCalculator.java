@@ -1,19 +1,30 @@
 package calculator.impl;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.MathContext;
-import java.util.Optional;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
-import java.util.stream.Stream;
 
-import calculator.listeners.ChudnovskyCalculatorListener;
-import calculator.listeners.data.ConstantCalculationResult;
-import calculator.listeners.data.DenominatorCalculationResult;
-import calculator.listeners.data.NominatorCalculationResult;
+import calculator.metrics.Phase;
+import calculator.multiplication.Multiplier;
+import calculator.multiplication.impl.JavaMultiplier;
+import calculator.tools.CancellableExecutor;
+import calculator.tools.NewtonRaphson;
 import calculator.tools.PrecisionProvider;
+import calculator.tools.TreeReduction;
+import calculator.tools.WindowedReduction;
 import factorial.FactorialCalculator;
 import factorial.impl.GuavaFactorialCalculator;
 import factorial.impl.MemoizeFactorialCalculator;
@@ -33,7 +44,28 @@ public class ChudnovskyCalculator extends PiCalculatorImpl implements PrecisionP
     private static final BigInteger number3 = BigInteger.valueOf(10005);
     private static final BigInteger number4 = BigInteger.valueOf(426880);
 
+    /**
+     * The number of blocks per thread if the block size is chosen adaptively. More blocks than threads balance the
+     * growing cost of the later terms.
+     */
+    private static final int BLOCKS_PER_THREAD = 4;
+    /**
+     * The additional digits of the partial sums of the blocks and of the constant and the final division of the exact
+     * accumulation, which keep their rounding errors below the precision of the result
+     */
+    private static final int GUARD_DIGITS = 10;
+    /**
+     * The number of terms per segment of the exact accumulation. The terms of a segment are kept until the segment is
+     * reduced, so only a few segments of terms exist at a time, instead of all terms.
+     */
+    private static final int EXACT_SEGMENT_SIZE = 64;
+
     private final FactorialCalculator<BigInteger> factorialCalculator;
+    private boolean termRecurrence;
+    private boolean compensatedSummation;
+    private boolean exactAccumulation;
+    private int checkpointInterval = 1000;
+    private int blockSize;
 
     public ChudnovskyCalculator(ExecutorService service) {
         super(service);
@@ -42,7 +74,11 @@ public class ChudnovskyCalculator extends PiCalculatorImpl implements PrecisionP
     }
 
     public ChudnovskyCalculator(ExecutorService service, FactorialCalculator<BigInteger> calculator) {
-        super(service);
+        this(service, calculator, new JavaMultiplier());
+    }
+
+    public ChudnovskyCalculator(ExecutorService service, FactorialCalculator<BigInteger> calculator, Multiplier multiplier) {
+        super(service, multiplier);
         this.factorialCalculator = calculator;
     }
 
@@ -52,11 +88,188 @@ public class ChudnovskyCalculator extends PiCalculatorImpl implements PrecisionP
     }
 
     @Override
-    public CompletableFuture<BigDecimal> calculateAsync(int iterations, MathContext precision) {
+    CompletableFuture<BigDecimal> calculateAsync(int iterations, MathContext precision, CancellableExecutor executor) {
         if (iterations < 0) {
             throw new IllegalArgumentException("Number of iterations cannot be negative");
         }
-        return chudnovsky(iterations, precision);
+        return chudnovsky(iterations, precision, executor);
+    }
+
+    /**
+     * Calculates PI like {@link #calculateAsync(int, MathContext)} with exact accumulation, but writes a
+     * {@link ChudnovskyCheckpoint} to the given file every {@link #getCheckpointInterval()} terms. If the calculation
+     * is interrupted, it can be continued with {@link #resumeAsync(Path, MathContext)}.
+     *
+     * @param iterations The number of iterations for the Chudnovsky sum.
+     * @param precision  The mathematical context that will be applied to the result
+     * @param checkpoint The file the checkpoints are written to
+     * @return A CompletableFuture, containing the result of the algorithm. Cancelling the future stops the
+     * calculation, the last checkpoint is kept.
+     */
+    public CompletableFuture<BigDecimal> calculateAsync(int iterations, MathContext precision, Path checkpoint) {
+        if (iterations < 0) {
+            throw new IllegalArgumentException("Number of iterations cannot be negative");
+        }
+        CancellableExecutor executor = new CancellableExecutor(service);
+        return executor.bind(chudnovskyCheckpointed(new ChudnovskyTermGenerator(), null, iterations, precision, checkpoint, executor)
+                                     .thenCompose(this::flushEvents));
+    }
+
+    /**
+     * Resumes a calculation from the checkpoint written by {@link #calculateAsync(int, MathContext, Path)}. Since the
+     * checkpoint contains the exact sum of the terms calculated so far, the precision does not need to match the
+     * precision of the interrupted calculation. Further checkpoints are written to the same file.
+     *
+     * @param checkpoint The file containing the checkpoint
+     * @param precision  The mathematical context that will be applied to the result
+     * @return A CompletableFuture, containing the result of the algorithm. Cancelling the future stops the
+     * calculation, the last checkpoint is kept.
+     */
+    public CompletableFuture<BigDecimal> resumeAsync(Path checkpoint, MathContext precision) {
+        CancellableExecutor executor = new CancellableExecutor(service);
+        return executor.bind(CompletableFuture.supplyAsync(() -> readCheckpoint(checkpoint), executor)
+                                              .thenCompose(state -> {
+                                                  ChudnovskyPartialSum sum = state.getSum();
+                                                  ChudnovskyTermGenerator generator = new ChudnovskyTermGenerator(sum.getTo(), factorialCalculator);
+                                                  return chudnovskyCheckpointed(generator, sum, state.getIterations(), precision, checkpoint, executor);
+                                              })
+                                              .thenCompose(this::flushEvents));
+    }
+
+    /**
+     * Calculates the exact sum of the terms [from, to). The sums of adjacent ranges can be merged by
+     * {@link ChudnovskyPartialSum#combine}, so the ranges of one calculation can be calculated independently, e.g. by
+     * different processes.
+     *
+     * @param from The index of the first term (inclusive)
+     * @param to   The index of the last term (exclusive)
+     * @return A CompletableFuture, containing the exact sum of the range
+     */
+    public CompletableFuture<ChudnovskyPartialSum> partialSumAsync(int from, int to) {
+        if (from < 0 || to <= from) {
+            throw new IllegalArgumentException("Invalid term range [" + from + ", " + to + ")");
+        }
+        CancellableExecutor executor = new CancellableExecutor(service);
+        return executor.bind(CompletableFuture.supplyAsync(() -> new ChudnovskyTermGenerator(from, factorialCalculator), executor)
+                                              .thenCompose(generator -> chudnovskyExactSumAsync(generator, to, executor)));
+    }
+
+    /**
+     * Calculates PI from the exact sum of the first terms, see {@link #partialSumAsync(int, int)}.
+     *
+     * @param sum       The exact sum of the terms, starting with the first term
+     * @param precision The mathematical context that will be applied to the result
+     * @return A CompletableFuture, containing the result of the algorithm.
+     */
+    public CompletableFuture<BigDecimal> calculateAsync(ChudnovskyPartialSum sum, MathContext precision) {
+        if (sum.getFrom() != 0) {
+            throw new IllegalArgumentException("The sum has to start with the first term");
+        }
+        CancellableExecutor executor = new CancellableExecutor(service);
+        return executor.bind(chudnovskyConstantAsync(workingContext(precision), executor)
+                .thenApply(metrics.function(Phase.FINAL_DIVISION, constant -> divideExactSum(constant, sum, precision)))
+                .thenCompose(this::flushEvents));
+    }
+
+    /**
+     * Opens a session, which keeps the exact sum of the terms calculated so far. Calculating PI with more iterations
+     * in the same session only calculates the additional terms.
+     *
+     * @return A new session without any terms
+     */
+    public ChudnovskySession openSession() {
+        return new ChudnovskySession(this);
+    }
+
+    /**
+     * @param start The index of the first term to generate
+     * @return A generator positioned at the given term
+     */
+    ChudnovskyTermGenerator termGenerator(int start) {
+        return start == 0 ? new ChudnovskyTermGenerator() : new ChudnovskyTermGenerator(start, factorialCalculator);
+    }
+
+    public int getCheckpointInterval() {
+        return checkpointInterval;
+    }
+
+    /**
+     * Sets the number of terms calculated between two checkpoints. See
+     * {@link #calculateAsync(int, MathContext, Path)}.
+     *
+     * @param checkpointInterval The number of terms between two checkpoints. (>=1)
+     */
+    public void setCheckpointInterval(int checkpointInterval) {
+        if (checkpointInterval < 1) {
+            throw new IllegalArgumentException("Checkpoint interval must be >= 1");
+        }
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    /**
+     * Sets the number of consecutive terms which are calculated and summed up by a single task. A block size of 1
+     * schedules every operation of a term as a separate task. The default 0 chooses the block size adaptively, such
+     * that every thread of the executor gets a few blocks. Exact accumulation is not affected.
+     *
+     * @param blockSize The number of terms per task, or 0 to choose it adaptively
+     */
+    public void setBlockSize(int blockSize) {
+        if (blockSize < 0) {
+            throw new IllegalArgumentException("Block size cannot be negative");
+        }
+        this.blockSize = blockSize;
+    }
+
+    public boolean isTermRecurrence() {
+        return termRecurrence;
+    }
+
+    /**
+     * Enables or disables the term recurrence. If enabled, the terms of the sum are not calculated independently using
+     * factorials. Instead each term is derived from its predecessor by a {@link ChudnovskyTermGenerator}, while the
+     * divisions of the terms are still calculated concurrently. The nominator and denominator reported to listeners
+     * are then the reduced fraction of the term, as described by {@link ChudnovskyTermGenerator}.
+     *
+     * @param termRecurrence true to derive the terms from each other, false to calculate each term from scratch
+     */
+    public void setTermRecurrence(boolean termRecurrence) {
+        this.termRecurrence = termRecurrence;
+    }
+
+    public boolean isCompensatedSummation() {
+        return compensatedSummation;
+    }
+
+    /**
+     * Enables or disables the compensation of rounding errors while summing up the terms. See
+     * {@link TreeReduction#sum}.
+     *
+     * @param compensatedSummation true to compensate the rounding errors of the summation
+     */
+    public void setCompensatedSummation(boolean compensatedSummation) {
+        this.compensatedSummation = compensatedSummation;
+    }
+
+    public boolean isExactAccumulation() {
+        return exactAccumulation;
+    }
+
+    /**
+     * Enables or disables the exact accumulation of the sum. If enabled, the terms are derived by the term recurrence
+     * and summed up exactly as {@link ChudnovskyPartialSum}. The sum is converted into a decimal number by a single
+     * division at the very end instead of one division per term. Since no term is calculated as a decimal number, no
+     * iteration events are reported in this mode. The terms are always generated and summed up in a streaming way, so
+     * at most {@link #getSummationWindow()} segments of terms are in flight, even if the streaming summation is
+     * disabled.
+     *
+     * @param exactAccumulation true to sum up the terms exactly
+     */
+    public void setExactAccumulation(boolean exactAccumulation) {
+        this.exactAccumulation = exactAccumulation;
     }
 
     @Override
@@ -83,90 +296,421 @@ public class ChudnovskyCalculator extends PiCalculatorImpl implements PrecisionP
      * The Chudnovsky algorithm to calculate PI. The desired precision of the number can be set via the MathContext
      * parameter.
      *
-     * @param n       The number of iterations for the Chudnovsky sum.
-     * @param context The mathematical context that will be applied to the result
+     * @param n        The number of iterations for the Chudnovsky sum.
+     * @param context  The mathematical context that will be applied to the result
+     * @param executor The executor of the calculation
      * @return A CompletableFuture, containing the result of the algorithm.
      */
-    private CompletableFuture<BigDecimal> chudnovsky(int n, MathContext context) {
-        CompletableFuture<BigDecimal> constant = chudnovskyConstantAsync(context);
-        CompletableFuture<BigDecimal> sum = chudnovskySumAsync(n, context);
-        return constant.thenCombine(sum, (bigDecimal, bigDecimal2) -> bigDecimal.divide(bigDecimal2, context));
+    private CompletableFuture<BigDecimal> chudnovsky(int n, MathContext context, CancellableExecutor executor) {
+        if (exactAccumulation) {
+            CompletableFuture<BigDecimal> constant = chudnovskyConstantAsync(workingContext(context), executor);
+            CompletableFuture<ChudnovskyPartialSum> exactSum = chudnovskyExactSumAsync(n, executor);
+            return constant.thenCombine(exactSum, metrics.combiner(Phase.FINAL_DIVISION,
+                    (bigDecimal, partialSum) -> divideExactSum(bigDecimal, partialSum, context)));
+        }
+        CompletableFuture<BigDecimal> constant = chudnovskyConstantAsync(context, executor);
+        CompletableFuture<BigDecimal> sum = chudnovskySumAsync(n, context, executor);
+        return constant.thenCombine(sum, metrics.combiner(Phase.FINAL_DIVISION,
+                (bigDecimal, bigDecimal2) -> NewtonRaphson.divide(bigDecimal, bigDecimal2, context, multiplier)));
     }
 
     /**
      * Calculates the k-th Chudnovsky number This number is the k-th part of the infinite sum in the algorithm The
      * precision of the number can be set via the MathContext parameter.
      *
-     * @param k       The index of the number you want to calculate. (>=0)
-     * @param context The mathematical context that will be applied to the result
+     * @param k        The index of the number you want to calculate. (>=0)
+     * @param context  The mathematical context that will be applied to the result
+     * @param executor The executor of the calculation
      * @return A CompletableFuture, containing the result as BigDecimal
      */
-    private CompletableFuture<BigDecimal> chudnovskyNumberAsync(int k, MathContext context) {
+    private CompletableFuture<BigDecimal> chudnovskyNumberAsync(int k, MathContext context, CancellableExecutor executor) {
 
-        CompletableFuture<BigInteger> nominator = calculateNominatorAsync(k);
-        CompletableFuture<BigInteger> denominator = calculateDenominatorAsync(k);
+        CompletableFuture<BigInteger> nominator = calculateNominatorAsync(k, executor);
+        CompletableFuture<BigInteger> denominator = calculateDenominatorAsync(k, executor);
 
         @SuppressWarnings("unused")
-        CompletableFuture<BigDecimal> future = nominator.thenCombine(denominator,
-                (bigInteger, bigInteger2) -> new BigDecimal(bigInteger)
-                        // Unfortunately this operation cannot be made more concurrently.
-                        .divide(new BigDecimal(bigInteger2), context)
-                        .stripTrailingZeros());
-        future.thenAccept(result -> iterationCompleted(k, result));
+        CompletableFuture<BigDecimal> future = nominator.thenCombine(denominator, metrics.combiner(Phase.DIVISION,
+                (bigInteger, bigInteger2) -> divideTerm(bigInteger, bigInteger2, context)));
+        if (eventBus.hasListeners()) {
+            // queued within the stage producing the term, so the event precedes the flush at the end of the calculation
+            future = future.thenApply(result -> {
+                iterationCompleted(k, result);
+                return result;
+            });
+        }
         return future;
     }
 
     /**
-     * Calculates the nominator of the Chudnovsky infinite sum
+     * Generates the terms 0 to n of the Chudnovsky sum using the term recurrence. The generation itself is done
+     * sequentially, while the divisions of each block of terms are submitted to the executor as soon as the terms are
+     * known.
+     *
+     * @param n         The index of the last number to generate
+     * @param context   The mathematical context that will be applied to the terms
+     * @param blockSize The number of terms per task
+     * @param executor  The executor of the calculation
+     * @return The futures of the partial sums of all blocks
+     */
+    private List<CompletableFuture<BigDecimal>> chudnovskyNumbersByRecurrence(int n, MathContext context, int blockSize,
+                                                                              CancellableExecutor executor) {
+        List<CompletableFuture<BigDecimal>> futures = new ArrayList<>((n + blockSize) / blockSize);
+        ChudnovskyTermGenerator generator = new ChudnovskyTermGenerator();
+        for (int from = 0; from <= n; from += blockSize) {
+            int blockFrom = from;
+            BigInteger[][] terms = generateBlock(generator, from, (int) Math.min(n + 1L, (long) from + blockSize), executor);
+            futures.add(CompletableFuture.supplyAsync(() -> sumBlock(blockFrom, terms[0], terms[1], context, executor), executor));
+        }
+        return futures;
+    }
+
+    /**
+     * Generates the terms [from, to) using the term recurrence. The generator has to be positioned at the first term,
+     * or at the term before.
+     *
+     * @param generator The generator of the terms
+     * @param from      The index of the first term (inclusive)
+     * @param to        The index of the last term (exclusive)
+     * @param executor  The executor of the calculation
+     * @return The nominators and the denominators of the terms
+     */
+    private BigInteger[][] generateBlock(ChudnovskyTermGenerator generator, int from, int to, CancellableExecutor executor) {
+        BigInteger[] nominators = new BigInteger[to - from];
+        BigInteger[] denominators = new BigInteger[to - from];
+        for (int k = from; k < to; k++) {
+            executor.throwIfCancelled();
+            // the generator is only moved on demand, so no term beyond the last one is generated
+            if (generator.getIndex() < k) {
+                metrics.run(Phase.TERMS, generator::next);
+            }
+            nominators[k - from] = metrics.get(Phase.NOMINATOR, generator::getNominator);
+            denominators[k - from] = generator.getDenominator();
+            eventBus.nominatorCalculated(nominators[k - from], k);
+            eventBus.denominatorCalculated(denominators[k - from], k);
+        }
+        return new BigInteger[][]{nominators, denominators};
+    }
+
+    /**
+     * Sums up the blocks of the Chudnovsky sum while at most {@link #summationWindow()} blocks are in flight. With the
+     * term recurrence, the blocks are generated one after another, each as soon as the window admits it.
+     *
+     * @param n         The index of the last number to sum
+     * @param context   The mathematical context that will be applied to the result
+     * @param blockSize The number of terms per task
+     * @param executor  The executor of the calculation
+     * @return A CompletableFuture, containing the result of the sum
+     */
+    private CompletableFuture<BigDecimal> chudnovskyStreamingSumAsync(int n, MathContext context, int blockSize,
+                                                                      CancellableExecutor executor) {
+        int blocks = (int) ((n + (long) blockSize) / blockSize);
+        IntFunction<CompletableFuture<BigDecimal>> tasks;
+        if (termRecurrence) {
+            ChudnovskyTermGenerator generator = new ChudnovskyTermGenerator();
+            // the generation of a block waits for the generation of the previous block, which is removed once chained
+            Map<Integer, CompletableFuture<BigInteger[][]>> generated = new ConcurrentHashMap<>();
+            tasks = block -> {
+                int from = block * blockSize;
+                int to = (int) Math.min(n + 1L, (long) from + blockSize);
+                CompletableFuture<?> previous = block == 0 ? CompletableFuture.completedFuture(null) : generated.remove(block - 1);
+                if (previous == null) {
+                    throw new IllegalStateException("Block " + block + " has been requested before block " + (block - 1));
+                }
+                CompletableFuture<BigInteger[][]> terms = previous.thenApplyAsync(
+                        ignored -> generateBlock(generator, from, to, executor), executor);
+                generated.put(block, terms);
+                return terms.thenApplyAsync(generatedTerms -> sumBlock(from, generatedTerms[0], generatedTerms[1], context, executor), executor);
+            };
+        } else if (blockSize == 1) {
+            tasks = k -> chudnovskyNumberAsync(k, context, executor);
+        } else {
+            tasks = block -> {
+                int from = block * blockSize;
+                int to = (int) Math.min(n + 1L, (long) from + blockSize);
+                return CompletableFuture.supplyAsync(() -> chudnovskyBlock(from, to, context, executor), executor);
+            };
+        }
+        return WindowedReduction.sum(blocks, tasks, context, compensatedSummation, summationWindow(),
+                metrics.executor(Phase.SUMMATION, executor));
+    }
+
+    /**
+     * Calculates the terms [from, to) of the Chudnovsky sum from their factorials and sums them up.
+     *
+     * @param from     The index of the first term (inclusive)
+     * @param to       The index of the last term (exclusive)
+     * @param context  The mathematical context that will be applied to the result
+     * @param executor The executor of the calculation
+     * @return The partial sum of the terms
+     */
+    private BigDecimal chudnovskyBlock(int from, int to, MathContext context, CancellableExecutor executor) {
+        BigInteger[] nominators = new BigInteger[to - from];
+        BigInteger[] denominators = new BigInteger[to - from];
+        for (int k = from; k < to; k++) {
+            executor.throwIfCancelled();
+            int index = k;
+            nominators[k - from] = metrics.get(Phase.NOMINATOR, () -> calculateNominator(index));
+            denominators[k - from] = metrics.get(Phase.DENOMINATOR, () -> calculateDenominator(index));
+            eventBus.nominatorCalculated(nominators[k - from], k);
+            eventBus.denominatorCalculated(denominators[k - from], k);
+        }
+        return sumBlock(from, nominators, denominators, context, executor);
+    }
+
+    /**
+     * Divides the terms of a block and sums them up. The partial sum carries a few guard digits, so only the sum of
+     * the blocks is rounded to the precision of the result.
+     *
+     * @param from         The index of the first term of the block
+     * @param nominators   The nominators of the terms
+     * @param denominators The denominators of the terms
+     * @param context      The mathematical context that will be applied to the terms
+     * @param executor     The executor of the calculation
+     * @return The partial sum of the block
+     */
+    private BigDecimal sumBlock(int from, BigInteger[] nominators, BigInteger[] denominators, MathContext context,
+                                CancellableExecutor executor) {
+        MathContext sumContext = new MathContext(context.getPrecision() + GUARD_DIGITS, context.getRoundingMode());
+        BigDecimal sum = BigDecimal.ZERO;
+        for (int i = 0; i < nominators.length; i++) {
+            executor.throwIfCancelled();
+            BigInteger nominator = nominators[i];
+            BigInteger denominator = denominators[i];
+            BigDecimal term = metrics.get(Phase.DIVISION, () -> divideTerm(nominator, denominator, context));
+            iterationCompleted(from + i, term);
+            sum = sum.add(term, sumContext);
+        }
+        return sum;
+    }
+
+    /**
+     * @return The number of terms per task for a sum of the given number of terms
+     */
+    private int blockSize(int terms) {
+        if (blockSize > 0) {
+            return blockSize;
+        }
+        int parallelism = parallelism();
+        return (int) Math.max(1, (terms + (long) BLOCKS_PER_THREAD * parallelism - 1) / (BLOCKS_PER_THREAD * parallelism));
+    }
+
+    /**
+     * Generates the terms 0 to n of the Chudnovsky sum using the term recurrence and sums them up exactly.
+     *
+     * @param n        The index of the last number to sum
+     * @param executor The executor of the calculation
+     * @return A CompletableFuture, containing the exact sum
+     */
+    private CompletableFuture<ChudnovskyPartialSum> chudnovskyExactSumAsync(int n, CancellableExecutor executor) {
+        return chudnovskyExactSumAsync(new ChudnovskyTermGenerator(), n + 1, executor);
+    }
+
+    /**
+     * Generates the terms from the current index of the generator up to the given index (exclusive) and sums them up
+     * exactly. Afterwards the generator is positioned at the given index. The terms are generated in segments of
+     * {@link #EXACT_SEGMENT_SIZE}, each of which is reduced as soon as it is generated, while the
+     * summation window bounds the number of segments in flight.
+     *
+     * @param generator The generator of the terms
+     * @param to        The index of the first term which is not part of the sum
+     * @param executor  The executor of the calculation
+     * @return A CompletableFuture, containing the exact sum
+     */
+    CompletableFuture<ChudnovskyPartialSum> chudnovskyExactSumAsync(ChudnovskyTermGenerator generator, int to, CancellableExecutor executor) {
+        int from = generator.getIndex();
+        if (to <= from) {
+            throw new IllegalArgumentException("Invalid term range [" + from + ", " + to + ")");
+        }
+        int segments = (int) ((to - from + (long) EXACT_SEGMENT_SIZE - 1) / EXACT_SEGMENT_SIZE);
+        ChudnovskyPartialSum.Powers powers = new ChudnovskyPartialSum.Powers(multiplier);
+        Executor summation = metrics.executor(Phase.SUMMATION, executor);
+        // the generation of a segment waits for the generation of the previous segment, which is removed once chained
+        Map<Integer, CompletableFuture<List<CompletableFuture<ChudnovskyPartialSum>>>> generated = new ConcurrentHashMap<>();
+        IntFunction<CompletableFuture<ChudnovskyPartialSum>> tasks = segment -> {
+            int segmentTo = (int) Math.min(to, from + (segment + 1L) * EXACT_SEGMENT_SIZE);
+            CompletableFuture<?> previous = segment == 0 ? CompletableFuture.completedFuture(null) : generated.remove(segment - 1);
+            if (previous == null) {
+                throw new IllegalStateException("Segment " + segment + " has been requested before segment " + (segment - 1));
+            }
+            CompletableFuture<List<CompletableFuture<ChudnovskyPartialSum>>> terms = previous.thenApplyAsync(
+                    ignored -> generateExactTerms(generator, segmentTo, executor), executor);
+            generated.put(segment, terms);
+            return terms.thenCompose(futures -> TreeReduction.reduce(futures, (sum1, sum2) -> sum1.combine(sum2, powers), summation));
+        };
+        return WindowedReduction.fold(segments, tasks, ChudnovskyPartialSum.Accumulator::add, new ChudnovskyPartialSum.Accumulator(powers),
+                summationWindow(), summation)
+                                .thenApply(ChudnovskyPartialSum.Accumulator::toSum);
+    }
+
+    /**
+     * Generates the terms from the current index of the generator up to the given index (exclusive) using the term
+     * recurrence. Afterwards the generator is positioned at the given index.
+     *
+     * @param generator The generator of the terms
+     * @param to        The index of the first term which is not generated
+     * @param executor  The executor of the calculation
+     * @return The exact sums of the single terms
+     */
+    private List<CompletableFuture<ChudnovskyPartialSum>> generateExactTerms(ChudnovskyTermGenerator generator, int to,
+                                                                             CancellableExecutor executor) {
+        List<CompletableFuture<ChudnovskyPartialSum>> futures = new ArrayList<>(to - generator.getIndex());
+        while (generator.getIndex() < to) {
+            executor.throwIfCancelled();
+            int k = generator.getIndex();
+            BigInteger nominator = metrics.get(Phase.NOMINATOR, generator::getNominator);
+            eventBus.nominatorCalculated(nominator, k);
+            eventBus.denominatorCalculated(generator.getDenominator(), k);
+            futures.add(CompletableFuture.completedFuture(ChudnovskyPartialSum.ofTerm(k, nominator)));
+            metrics.run(Phase.TERMS, generator::next);
+        }
+        return futures;
+    }
+
+    /**
+     * Sums up the terms of the Chudnovsky sum segment by segment and writes a checkpoint after each segment.
+     *
+     * @param generator  The generator, positioned at the first term which is not part of the sum yet
+     * @param sum        The exact sum of the previous terms or null, if there are none
+     * @param n          The index of the last number to sum
+     * @param context    The mathematical context that will be applied to the result
+     * @param checkpoint The file the checkpoints are written to
+     * @param executor   The executor of the calculation
+     * @return A CompletableFuture, containing the result of the algorithm.
+     */
+    private CompletableFuture<BigDecimal> chudnovskyCheckpointed(ChudnovskyTermGenerator generator, ChudnovskyPartialSum sum,
+                                                                 int n, MathContext context, Path checkpoint, CancellableExecutor executor) {
+        CompletableFuture<BigDecimal> constant = chudnovskyConstantAsync(workingContext(context), executor);
+        CompletableFuture<ChudnovskyPartialSum> exactSum = chudnovskySegmentsAsync(generator, sum, n, checkpoint, executor);
+        return constant.thenCombine(exactSum, metrics.combiner(Phase.FINAL_DIVISION,
+                (bigDecimal, partialSum) -> divideExactSum(bigDecimal, partialSum, context)));
+    }
+
+    private CompletableFuture<ChudnovskyPartialSum> chudnovskySegmentsAsync(ChudnovskyTermGenerator generator, ChudnovskyPartialSum sum,
+                                                                            int n, Path checkpoint, CancellableExecutor executor) {
+        if (generator.getIndex() > n) {
+            return CompletableFuture.completedFuture(sum);
+        }
+        int to = (int) Math.min(n + 1L, (long) generator.getIndex() + checkpointInterval);
+        return chudnovskyExactSumAsync(generator, to, executor).thenApply(segment -> sum == null ? segment : sum.combine(segment, multiplier))
+                                                     .thenApply(total -> {
+                                                         try {
+                                                             new ChudnovskyCheckpoint(n, total).write(checkpoint);
+                                                         } catch (IOException e) {
+                                                             throw new UncheckedIOException(e);
+                                                         }
+                                                         return total;
+                                                     })
+                                                     .thenCompose(total -> chudnovskySegmentsAsync(generator, total, n, checkpoint, executor));
+    }
+
+    private static ChudnovskyCheckpoint readCheckpoint(Path checkpoint) {
+        try {
+            return ChudnovskyCheckpoint.read(checkpoint);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param context The mathematical context of the result
+     * @return The context of the constant and the final division of the exact accumulation, including guard digits
+     */
+    static MathContext workingContext(MathContext context) {
+        return new MathContext(context.getPrecision() + GUARD_DIGITS, context.getRoundingMode());
+    }
+
+    /**
+     * Divides the constant by the exact sum. Only the quotient is rounded to the given context.
+     *
+     * @param constant The constant, calculated with the {@link #workingContext(MathContext)}
+     * @param sum      The exact sum of the terms
+     * @param context  The mathematical context that will be applied to the result
+     * @return PI
+     */
+    BigDecimal divideExactSum(BigDecimal constant, ChudnovskyPartialSum sum, MathContext context) {
+        return NewtonRaphson.divide(multiplier.multiply(new BigDecimal(sum.getDenominator()), constant),
+                new BigDecimal(sum.getNumerator()), workingContext(context), multiplier).round(context);
+    }
+
+    private BigDecimal divideTerm(BigInteger nominator, BigInteger denominator, MathContext context) {
+        return new BigDecimal(nominator)
+                // Unfortunately this operation cannot be made more concurrently.
+                .divide(new BigDecimal(denominator), context)
+                .stripTrailingZeros();
+    }
+
+    /**
+     * Calculates the nominator of the Chudnovsky infinite sum in the current thread: (6k)! * (545140134k + 13591409)
      *
      * @param k The index of the number you want to calculate. (>=0)
+     * @return The nominator
+     */
+    private BigInteger calculateNominator(int k) {
+        return multiplier.multiply(factorialCalculator.factorial(6 * k), number0.multiply(BigInteger.valueOf(k)).add(number2));
+    }
+
+    /**
+     * Calculates the denominator of the Chudnovsky infinite sum in the current thread: (3k)! * (k!)^3 * (-640320^3)^k
+     *
+     * @param k The index of the number you want to calculate. (>=0)
+     * @return The denominator
+     */
+    private BigInteger calculateDenominator(int k) {
+        BigInteger factorials = multiplier.multiply(factorialCalculator.factorial(3 * k), multiplier.pow(factorialCalculator.factorial(k), 3));
+        return multiplier.multiply(factorials, multiplier.pow(number1, k));
+    }
+
+    /**
+     * Calculates the nominator of the Chudnovsky infinite sum
+     *
+     * @param k        The index of the number you want to calculate. (>=0)
+     * @param executor The executor of the calculation
      * @return A CompletableFuture, containing the result as BigInteger
      */
-    private CompletableFuture<BigInteger> calculateNominatorAsync(int k) {
+    private CompletableFuture<BigInteger> calculateNominatorAsync(int k, CancellableExecutor executor) {
         BigInteger kBigInt = BigInteger.valueOf(k);
 
         CompletableFuture<BigInteger> future0 =
-                CompletableFuture.supplyAsync(() -> 6 * k, service)
-                                 .thenApply(factorialCalculator::factorial);
+                CompletableFuture.supplyAsync(() -> 6 * k, executor)
+                                 .thenApply(metrics.function(Phase.NOMINATOR, factorialCalculator::factorial));
         CompletableFuture<BigInteger> future1 =
-                CompletableFuture.supplyAsync(() -> number0.multiply(kBigInt), service)
+                CompletableFuture.supplyAsync(() -> number0.multiply(kBigInt), executor)
                                  .thenApply(i -> i.add(number2));
         @SuppressWarnings("unused")
-        CompletableFuture<BigInteger> nominator = future0.thenCombine(future1, BigInteger::multiply);
-        nominator.thenAccept(result -> listeners.stream()
-                                                .filter(listener -> listener instanceof ChudnovskyCalculatorListener)
-                                                .forEach(listener -> {
-                                                            NominatorCalculationResult calculationResult = new NominatorCalculationResult(result, k);
-                                                            ChudnovskyCalculatorListener chudnovskyCalculatorListener = (ChudnovskyCalculatorListener) listener;
-                                                            chudnovskyCalculatorListener.notifyNominatorCalculationCompleted(calculationResult);
-                                                        }
-                                                ));
+        CompletableFuture<BigInteger> nominator = future0.thenCombine(future1, metrics.combiner(Phase.NOMINATOR, multiplier::multiply));
+        if (eventBus.hasChudnovskyListeners()) {
+            nominator = nominator.thenApply(result -> {
+                eventBus.nominatorCalculated(result, k);
+                return result;
+            });
+        }
         return nominator;
     }
 
     /**
      * Calculates the denominator of the Chudnovsky infinite sum
      *
-     * @param k The index of the number you want to calculate. (>=0)
+     * @param k        The index of the number you want to calculate. (>=0)
+     * @param executor The executor of the calculation
      * @return A CompletableFuture, containing the result as BigInteger
      */
-    private CompletableFuture<BigInteger> calculateDenominatorAsync(int k) {
-        CompletableFuture<BigInteger> future2 = CompletableFuture.supplyAsync(() -> 3 * k, service)
-                                                                 .thenApply(factorialCalculator::factorial);
-        CompletableFuture<BigInteger> future3 = CompletableFuture.supplyAsync(() -> factorialCalculator.factorial(k), service)
-                                                                 .thenApply(i -> i.pow(3));
-        CompletableFuture<BigInteger> future4 = CompletableFuture.supplyAsync(() -> number1.pow(k), service);
+    private CompletableFuture<BigInteger> calculateDenominatorAsync(int k, CancellableExecutor executor) {
+        CompletableFuture<BigInteger> future2 = CompletableFuture.supplyAsync(() -> 3 * k, executor)
+                                                                 .thenApply(metrics.function(Phase.DENOMINATOR, factorialCalculator::factorial));
+        CompletableFuture<BigInteger> future3 = CompletableFuture.supplyAsync(metrics.supplier(Phase.DENOMINATOR,
+                () -> multiplier.pow(factorialCalculator.factorial(k), 3)), executor);
+        CompletableFuture<BigInteger> future4 = CompletableFuture.supplyAsync(metrics.supplier(Phase.DENOMINATOR,
+                () -> multiplier.pow(number1, k)), executor);
 
         @SuppressWarnings("unused")
-        CompletableFuture<BigInteger> denominator = future2.thenCombine(future3, BigInteger::multiply)
-                                                           .thenCombine(future4, BigInteger::multiply);
-        denominator.thenAccept(result -> listeners.stream()
-                                                  .filter(listener -> listener instanceof ChudnovskyCalculatorListener)
-                                                  .forEach(listener -> {
-                                                      DenominatorCalculationResult calculationResult = new DenominatorCalculationResult(result, k);
-                                                      ChudnovskyCalculatorListener chudnovskyCalculatorListener = (ChudnovskyCalculatorListener) listener;
-                                                      chudnovskyCalculatorListener.notifyDenominatorCalculationCompleted(calculationResult);
-                                                  }));
+        CompletableFuture<BigInteger> denominator = future2.thenCombine(future3, metrics.combiner(Phase.DENOMINATOR, multiplier::multiply))
+                                                           .thenCombine(future4, metrics.combiner(Phase.DENOMINATOR, multiplier::multiply));
+        if (eventBus.hasChudnovskyListeners()) {
+            denominator = denominator.thenApply(result -> {
+                eventBus.denominatorCalculated(result, k);
+                return result;
+            });
+        }
         return denominator;
     }
 
@@ -174,36 +718,57 @@ public class ChudnovskyCalculator extends PiCalculatorImpl implements PrecisionP
      * Calculates the sum of n Chudnovsky numbers. The precision of the number can be set via the MathContext
      * parameter.
      *
-     * @param n       The index of the last number to sum
-     * @param context The mathematical context that will be applied to the result
+     * @param n        The index of the last number to sum
+     * @param context  The mathematical context that will be applied to the result
+     * @param executor The executor of the calculation
      * @return A CompletableFuture, containing the result of the sum
      */
-    private CompletableFuture<BigDecimal> chudnovskySumAsync(int n, MathContext context) {
-        Stream<CompletableFuture<BigDecimal>> futureStream = IntStream.rangeClosed(0, n)
-                                                                      .mapToObj(value -> chudnovskyNumberAsync(value, context));
-        Optional<CompletableFuture<BigDecimal>> reduction = futureStream.reduce((f1, f2) -> f1.thenCombine(f2, (bigDecimal, bigDecimal2) -> bigDecimal.add(bigDecimal2, context)));
-        CompletableFuture<BigDecimal> result = reduction.orElse(CompletableFuture.completedFuture(BigDecimal.ZERO));
-        return result;
+    private CompletableFuture<BigDecimal> chudnovskySumAsync(int n, MathContext context, CancellableExecutor executor) {
+        int size = blockSize(n + 1);
+        if (isStreamingSummation()) {
+            return chudnovskyStreamingSumAsync(n, context, size, executor);
+        }
+        if (termRecurrence) {
+            return CompletableFuture.supplyAsync(() -> chudnovskyNumbersByRecurrence(n, context, size, executor), executor)
+                                    .thenCompose(futures -> TreeReduction.sum(futures, context, compensatedSummation,
+                                            metrics.executor(Phase.SUMMATION, executor)));
+        }
+        List<CompletableFuture<BigDecimal>> futures;
+        if (size == 1) {
+            futures = IntStream.rangeClosed(0, n)
+                               .mapToObj(value -> chudnovskyNumberAsync(value, context, executor))
+                               .collect(Collectors.toList());
+        } else {
+            futures = new ArrayList<>((n + size) / size);
+            for (int from = 0; from <= n; from += size) {
+                int blockFrom = from;
+                int blockTo = (int) Math.min(n + 1L, (long) from + size);
+                futures.add(CompletableFuture.supplyAsync(() -> chudnovskyBlock(blockFrom, blockTo, context, executor), executor));
+            }
+        }
+        return TreeReduction.sum(futures, context, compensatedSummation, metrics.executor(Phase.SUMMATION, executor));
     }
 
     /**
      * Calculates the constant part of the Chudnovsky algorithm to a given precision. The precision of the number can be
      * set via the MathContext parameter.
      *
-     * @param context The mathematical context that will be applied to the result
+     * @param context  The mathematical context that will be applied to the result
+     * @param executor The executor of the calculation
      * @return The constant part of the Chudnovsky algorithm as CompletableFuture
      */
-    private CompletableFuture<BigDecimal> chudnovskyConstantAsync(MathContext context) {
-        CompletableFuture<BigDecimal> constant = CompletableFuture.supplyAsync(() -> new BigDecimal(number3).sqrt(context), service)
+    CompletableFuture<BigDecimal> chudnovskyConstantAsync(MathContext context, CancellableExecutor executor) {
+        CompletableFuture<BigDecimal> constant = CompletableFuture.supplyAsync(metrics.supplier(Phase.CONSTANT,
+                () -> NewtonRaphson.sqrt(new BigDecimal(number3), context, multiplier)), executor)
                                                                   .thenApply(i -> new BigDecimal(number4).multiply(i))
                                                                   .thenApply(BigDecimal::stripTrailingZeros);
 
-        constant.thenAccept(result -> listeners.stream().filter(listener -> listener instanceof ChudnovskyCalculatorListener)
-                                               .forEach(listener -> {
-                                                   ConstantCalculationResult calculationResult = new ConstantCalculationResult(result);
-                                                   ChudnovskyCalculatorListener chudnovskyCalculatorListener = (ChudnovskyCalculatorListener) listener;
-                                                   chudnovskyCalculatorListener.notifyConstantCalculationCompleted(calculationResult);
-                                               }));
+        if (eventBus.hasChudnovskyListeners()) {
+            constant = constant.thenApply(result -> {
+                eventBus.constantCalculated(result);
+                return result;
+            });
+        }
         return constant;
     }
 }
\ No newline at end of file
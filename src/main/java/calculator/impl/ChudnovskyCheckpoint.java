@@ -0,0 +1,102 @@
+package calculator.impl;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import lombok.Getter;
+
+/**
+ * The state of a checkpointed Chudnovsky calculation: the number of iterations to calculate and the exact sum of all
+ * terms which have been calculated so far. Since the sum is exact, a calculation can be resumed with any precision.
+ * <p>
+ * The binary format is: magic number, version, iterations, index of the next term, length of the numerator in bytes
+ * and the two's complement bytes of the numerator (all numbers as big endian int).
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+@Getter
+public class ChudnovskyCheckpoint {
+
+    private static final int MAGIC = 0x50494350;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 20;
+
+    private final int iterations;
+    private final ChudnovskyPartialSum sum;
+
+    public ChudnovskyCheckpoint(int iterations, ChudnovskyPartialSum sum) {
+        if (sum.getFrom() != 0) {
+            throw new IllegalArgumentException("The sum of a checkpoint has to start with the first term");
+        }
+        this.iterations = iterations;
+        this.sum = sum;
+    }
+
+    /**
+     * Writes the checkpoint to the given file. The checkpoint is written to a temporary file first, which is forced to
+     * the disk and then replaces the given file, so an interrupted write or a crash never destroys the previous
+     * checkpoint.
+     *
+     * @param path The file to write to
+     * @throws IOException If the checkpoint could not be written
+     */
+    public void write(Path path) throws IOException {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        byte[] numerator = sum.getNumerator().toByteArray();
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(iterations);
+            out.writeInt(sum.getTo());
+            out.writeInt(numerator.length);
+            out.write(numerator);
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads a checkpoint from the given file.
+     *
+     * @param path The file to read from
+     * @return The checkpoint
+     * @throws IOException If the file could not be read, is not a checkpoint or is corrupt
+     */
+    public static ChudnovskyCheckpoint read(Path path) throws IOException {
+        long size = Files.size(path);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a checkpoint file: " + path);
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported checkpoint version " + version);
+            }
+            int iterations = in.readInt();
+            int nextIndex = in.readInt();
+            int length = in.readInt();
+            if (iterations < 0 || nextIndex < 1 || nextIndex > iterations + 1L) {
+                throw new IOException("Corrupt checkpoint " + path + ": " + nextIndex + " terms of " + iterations + " iterations");
+            }
+            if (length < 1 || length != size - HEADER_SIZE) {
+                throw new IOException("Corrupt checkpoint " + path + ": numerator of " + length + " bytes in a file of " + size + " bytes");
+            }
+            byte[] numerator = new byte[length];
+            in.readFully(numerator);
+            return new ChudnovskyCheckpoint(iterations, new ChudnovskyPartialSum(0, nextIndex, new BigInteger(numerator)));
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package calculator.impl;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import calculator.multiplication.Multiplier;
+import lombok.Getter;
+
+/**
+ * An exact partial sum of the Chudnovsky series over the term range [from, to). Using the reduced terms of the
+ * {@link ChudnovskyTermGenerator}, all terms share the denominator (-262537412640768000)^k. The sum is therefore kept as
+ * a single numerator over the common denominator (-262537412640768000)^(to - 1), so no division is necessary until the
+ * sum is converted into a decimal number.
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+@Getter
+public class ChudnovskyPartialSum {
+
+    private static final BigInteger number1 = BigInteger.valueOf(-262537412640768000L);
+
+    private final int from;
+    private final int to;
+    private final BigInteger numerator;
+
+    public ChudnovskyPartialSum(int from, int to, BigInteger numerator) {
+        if (from < 0 || to <= from) {
+            throw new IllegalArgumentException("Invalid term range [" + from + ", " + to + ")");
+        }
+        this.from = from;
+        this.to = to;
+        this.numerator = numerator;
+    }
+
+    /**
+     * @param k         The index of the term. (>=0)
+     * @param nominator The reduced nominator of the term, as calculated by {@link ChudnovskyTermGenerator}
+     * @return The partial sum of the range [k, k + 1)
+     */
+    static ChudnovskyPartialSum ofTerm(int k, BigInteger nominator) {
+        return new ChudnovskyPartialSum(k, k + 1, nominator);
+    }
+
+    /**
+     * @return The common denominator of all terms of this sum, (-262537412640768000)^(to - 1)
+     */
+    public BigInteger getDenominator() {
+        return number1.pow(to - 1);
+    }
+
+    /**
+     * Merges this sum with the sum of the directly following range.
+     *
+     * @param right      The sum of the range starting where this range ends
+     * @param multiplier The multiplier used for the products
+     * @return The sum of the union of both ranges
+     */
+    public ChudnovskyPartialSum combine(ChudnovskyPartialSum right, Multiplier multiplier) {
+        return combine(right, new Powers(multiplier));
+    }
+
+    /**
+     * Merges this sum with the sum of the directly following range, taking the power of the common denominator from
+     * the given cache.
+     *
+     * @param right  The sum of the range starting where this range ends
+     * @param powers The cache of the powers, shared by all combinations of a reduction
+     * @return The sum of the union of both ranges
+     */
+    public ChudnovskyPartialSum combine(ChudnovskyPartialSum right, Powers powers) {
+        if (this.to != right.from) {
+            throw new IllegalArgumentException("Ranges [" + from + ", " + to + ") and [" + right.from + ", " + right.to + ") are not adjacent");
+        }
+        BigInteger factor = powers.pow(right.to - right.from);
+        BigInteger numerator = powers.multiplier.multiply(this.numerator, factor).add(right.numerator);
+        return new ChudnovskyPartialSum(this.from, right.to, numerator);
+    }
+
+    /**
+     * Converts the sum into a decimal number. This is the only division done for the whole range.
+     *
+     * @param context The mathematical context that will be applied to the result
+     * @return The value of the sum
+     */
+    public BigDecimal toBigDecimal(MathContext context) {
+        return new BigDecimal(numerator).divide(new BigDecimal(getDenominator()), context);
+    }
+
+    /**
+     * Caches the powers (-262537412640768000)^n which are required to combine sums. The ranges combined by a tree
+     * reduction mostly have the same lengths, so every power is only calculated once. Concurrent requests for the same
+     * power wait for the first one to calculate it.
+     */
+    public static class Powers {
+        private final Multiplier multiplier;
+        private final Map<Integer, BigInteger> powers = new ConcurrentHashMap<>();
+
+        /**
+         * @param multiplier The multiplier used for the powers and the products
+         */
+        public Powers(Multiplier multiplier) {
+            this.multiplier = multiplier;
+        }
+
+        BigInteger pow(int exponent) {
+            return powers.computeIfAbsent(exponent, key -> multiplier.pow(number1, key));
+        }
+    }
+
+    /**
+     * Merges the sums of consecutive ranges in their order like a binary counter: a sum is combined with its left
+     * neighbour as soon as both merged the same number of ranges. So the operands of the multiplications have similar
+     * sizes, as in a tree reduction, while only a logarithmic number of sums is kept. Not thread-safe.
+     */
+    static class Accumulator {
+        private final Powers powers;
+        // the last merged sum is on top, together with the number of ranges it merged
+        private final Deque<ChudnovskyPartialSum> sums = new ArrayDeque<>();
+        private final Deque<Integer> weights = new ArrayDeque<>();
+
+        /**
+         * @param powers The cache of the powers, shared by all combinations of the reduction
+         */
+        Accumulator(Powers powers) {
+            this.powers = powers;
+        }
+
+        /**
+         * @param sum The sum of the range starting where the previously added range ends
+         * @return This accumulator
+         */
+        Accumulator add(ChudnovskyPartialSum sum) {
+            ChudnovskyPartialSum merged = sum;
+            int weight = 1;
+            while (!weights.isEmpty() && weights.peek() == weight) {
+                merged = sums.pop().combine(merged, powers);
+                weight += weights.pop();
+            }
+            sums.push(merged);
+            weights.push(weight);
+            return this;
+        }
+
+        /**
+         * @return The sum of all added ranges
+         */
+        ChudnovskyPartialSum toSum() {
+            if (sums.isEmpty()) {
+                throw new IllegalStateException("No sum has been added");
+            }
+            Iterator<ChudnovskyPartialSum> iterator = sums.iterator();
+            ChudnovskyPartialSum sum = iterator.next();
+            while (iterator.hasNext()) {
+                sum = iterator.next().combine(sum, powers);
+            }
+            return sum;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package calculator.impl;
+
+import java.math.BigInteger;
+
+import calculator.multiplication.Multiplier;
+import lombok.Getter;
+
+/**
+ * Holds the binary splitting products P(a, b), Q(a, b) and T(a, b) of the Chudnovsky series for the term range
+ * [a, b). Two adjacent ranges can be merged into one, which allows to compute the whole series as a balanced tree of
+ * big integer multiplications instead of summing up divided terms. More information:
+ * https://en.wikipedia.org/wiki/Chudnovsky_algorithm
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+@Getter
+public class ChudnovskyRangeProduct {
+
+    private static final BigInteger number0 = BigInteger.valueOf(545140134);
+    private static final BigInteger number2 = BigInteger.valueOf(13591409);
+    // 640320^3 / 24
+    private static final BigInteger number5 = BigInteger.valueOf(10939058860032000L);
+
+    private final int from;
+    private final int to;
+    private final BigInteger p;
+    private final BigInteger q;
+    private final BigInteger t;
+
+    public ChudnovskyRangeProduct(int from, int to, BigInteger p, BigInteger q, BigInteger t) {
+        if (from < 0 || to <= from) {
+            throw new IllegalArgumentException("Invalid term range [" + from + ", " + to + ")");
+        }
+        this.from = from;
+        this.to = to;
+        this.p = p;
+        this.q = q;
+        this.t = t;
+    }
+
+    /**
+     * Calculates the products of a single term of the Chudnovsky sum.
+     *
+     * @param k The index of the term. (>=0)
+     * @return The products for the range [k, k + 1)
+     */
+    public static ChudnovskyRangeProduct ofTerm(int k) {
+        if (k == 0) {
+            return new ChudnovskyRangeProduct(0, 1, BigInteger.ONE, BigInteger.ONE, number2);
+        }
+        long kLong = k;
+        BigInteger p = BigInteger.valueOf(6 * kLong - 5)
+                                 .multiply(BigInteger.valueOf(2 * kLong - 1))
+                                 .multiply(BigInteger.valueOf(6 * kLong - 1));
+        BigInteger kBigInt = BigInteger.valueOf(k);
+        BigInteger q = kBigInt.pow(3).multiply(number5);
+        BigInteger t = p.multiply(number0.multiply(kBigInt).add(number2));
+        if ((k & 1) == 1) {
+            t = t.negate();
+        }
+        return new ChudnovskyRangeProduct(k, k + 1, p, q, t);
+    }
+
+    /**
+     * Sequentially calculates the products of the term range [from, to) by recursive binary splitting.
+     *
+     * @param from       The index of the first term (inclusive)
+     * @param to         The index of the last term (exclusive)
+     * @param multiplier The multiplier used for the products
+     * @return The products for the given range
+     */
+    public static ChudnovskyRangeProduct compute(int from, int to, Multiplier multiplier) {
+        if (to - from == 1) {
+            return ofTerm(from);
+        }
+        int mid = (from + to) >>> 1;
+        return compute(from, mid, multiplier).combine(compute(mid, to, multiplier), multiplier);
+    }
+
+    /**
+     * Merges this range with the directly following range.
+     *
+     * @param right      The range starting where this range ends
+     * @param multiplier The multiplier used for the products
+     * @return The products for the union of both ranges
+     */
+    public ChudnovskyRangeProduct combine(ChudnovskyRangeProduct right, Multiplier multiplier) {
+        if (this.to != right.from) {
+            throw new IllegalArgumentException("Ranges [" + from + ", " + to + ") and [" + right.from + ", " + right.to + ") are not adjacent");
+        }
+        BigInteger p = multiplier.multiply(this.p, right.p);
+        BigInteger q = multiplier.multiply(this.q, right.q);
+        BigInteger t = multiplier.multiply(right.q, this.t).add(multiplier.multiply(this.p, right.t));
+        return new ChudnovskyRangeProduct(this.from, right.to, p, q, t);
+    }
+}
@@ -0,0 +1,138 @@
+package calculator.impl;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.concurrent.CompletableFuture;
+
+import calculator.metrics.Phase;
+import calculator.tools.CancellableExecutor;
+
+/**
+ * A sequence of Chudnovsky calculations with growing precision. The session keeps the exact sum of all terms
+ * calculated so far, together with the generator positioned at the next term. Calculating PI with more iterations
+ * therefore only calculates the terms which are missing, merges their sum with the previous one and repeats the
+ * constant and the final division at the new precision.
+ * <p>
+ * The calculations of a session are executed one after another. If a calculation fails or is cancelled, the session
+ * keeps the sum of the previous calculation. The remaining tasks of a cancelled calculation do not modify the session.
+ *
+ * @author Stefan
+ * @version 1.0
+ * @see ChudnovskyCalculator#openSession()
+ */
+public class ChudnovskySession {
+
+    private final ChudnovskyCalculator calculator;
+
+    private volatile ChudnovskyPartialSum sum;
+    private ChudnovskyTermGenerator generator;
+    private MathContext constantContext;
+    private BigDecimal constant;
+    private CompletableFuture<?> previous = CompletableFuture.completedFuture(null);
+
+    ChudnovskySession(ChudnovskyCalculator calculator) {
+        this.calculator = calculator;
+    }
+
+    /**
+     * @return The exact sum of all terms calculated so far, or null if no term has been calculated yet
+     */
+    public ChudnovskyPartialSum getSum() {
+        return sum;
+    }
+
+    /**
+     * @return The number of iterations calculated so far, or -1 if no term has been calculated yet
+     */
+    public int getIterations() {
+        ChudnovskyPartialSum current = sum;
+        return current == null ? -1 : current.getTo() - 1;
+    }
+
+    /**
+     * Calculates PI with the given number of iterations. Only the terms which are not part of the sum of the session
+     * are calculated. If the session already contains more terms, the result is calculated from all of them.
+     *
+     * @param iterations The number of iterations for the Chudnovsky sum.
+     * @param precision  The mathematical context that will be applied to the result
+     * @return A CompletableFuture, containing the result of the algorithm. Cancelling the future stops the
+     * calculation, the sum of the session is kept.
+     */
+    public synchronized CompletableFuture<BigDecimal> calculateAsync(int iterations, MathContext precision) {
+        if (iterations < 0) {
+            throw new IllegalArgumentException("Number of iterations cannot be negative");
+        }
+        CancellableExecutor executor = new CancellableExecutor(calculator.service);
+        CompletableFuture<BigDecimal> result = previous.handle((value, throwable) -> null)
+                                                       .thenCompose(ignored -> extendAsync(iterations, precision, executor))
+                                                       .thenCompose(calculator::flushEvents);
+        // a cancelled calculation does not complete, so the next one only waits for the returned future
+        CompletableFuture<BigDecimal> bound = executor.bind(result);
+        previous = bound;
+        return bound;
+    }
+
+    private CompletableFuture<BigDecimal> extendAsync(int n, MathContext context, CancellableExecutor executor) {
+        // the constant is cached with the guard digits, only the final quotient is rounded to the context
+        MathContext workingContext = ChudnovskyCalculator.workingContext(context);
+        CompletableFuture<BigDecimal> constantFuture;
+        BigDecimal cached = cachedConstant(workingContext);
+        if (cached != null) {
+            constantFuture = CompletableFuture.completedFuture(cached);
+        } else {
+            constantFuture = calculator.chudnovskyConstantAsync(workingContext, executor).thenApply(value -> {
+                synchronized (this) {
+                    executor.throwIfCancelled();
+                    constantContext = workingContext;
+                    constant = value;
+                }
+                return value;
+            });
+        }
+        return constantFuture.thenCombine(extendSumAsync(n, executor), calculator.metrics.combiner(Phase.FINAL_DIVISION,
+                (bigDecimal, partialSum) -> calculator.divideExactSum(bigDecimal, partialSum, context)));
+    }
+
+    private synchronized BigDecimal cachedConstant(MathContext context) {
+        return context.equals(constantContext) ? constant : null;
+    }
+
+    /**
+     * Adds the terms up to n to the sum of the session.
+     */
+    private CompletableFuture<ChudnovskyPartialSum> extendSumAsync(int n, CancellableExecutor executor) {
+        ChudnovskyPartialSum current = sum;
+        int from = current == null ? 0 : current.getTo();
+        if (from > n) {
+            return CompletableFuture.completedFuture(current);
+        }
+        return CompletableFuture.supplyAsync(() -> takeGenerator(from), executor)
+                                .thenCompose(terms -> calculator.chudnovskyExactSumAsync(terms, n + 1, executor)
+                                                                .thenApply(segment -> {
+                                                                    ChudnovskyPartialSum total = current == null ? segment : current.combine(segment, calculator.multiplier);
+                                                                    update(total, terms, executor);
+                                                                    return total;
+                                                                }));
+    }
+
+    /**
+     * Removes the generator from the session, so a cancelled calculation cannot move the generator of the next one.
+     *
+     * @param from The index of the next term
+     * @return A generator positioned at the given term
+     */
+    private synchronized ChudnovskyTermGenerator takeGenerator(int from) {
+        ChudnovskyTermGenerator terms = generator;
+        generator = null;
+        if (terms == null || terms.getIndex() != from) {
+            return calculator.termGenerator(from);
+        }
+        return terms;
+    }
+
+    private synchronized void update(ChudnovskyPartialSum total, ChudnovskyTermGenerator terms, CancellableExecutor executor) {
+        executor.throwIfCancelled();
+        sum = total;
+        generator = terms;
+    }
+}
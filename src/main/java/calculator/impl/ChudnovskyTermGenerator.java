@@ -0,0 +1,90 @@
+package calculator.impl;
+
+import java.math.BigInteger;
+
+import factorial.FactorialCalculator;
+
+/**
+ * Generates the terms of the Chudnovsky sum one after another. Instead of calculating the factorials of every term
+ * from scratch, term k + 1 is derived from term k using the ratio between two consecutive terms:
+ * <pre>
+ * (6k + 6)! / ((3k + 3)! * ((k + 1)!)^3) = (6k)! / ((3k)! * (k!)^3) * 8 * (6k + 1) * (6k + 3) * (6k + 5) / (k + 1)^3
+ * </pre>
+ * This only requires multiplications and divisions by small integers. The term k is represented by the fraction
+ * nominator / denominator, where nominator = (6k)! / ((3k)! * (k!)^3) * (545140134k + 13591409) and
+ * denominator = (-262537412640768000)^k. This is the same value as the one calculated by
+ * {@link ChudnovskyCalculator}, reduced by (3k)! * (k!)^3.
+ * <p>
+ * Instances of this class are not thread safe.
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+class ChudnovskyTermGenerator {
+
+    private static final BigInteger number0 = BigInteger.valueOf(545140134);
+    private static final BigInteger number1 = BigInteger.valueOf(-262537412640768000L);
+    private static final BigInteger number2 = BigInteger.valueOf(13591409);
+
+    private int index;
+    // (6k)! / ((3k)! * (k!)^3)
+    private BigInteger multinomial;
+    // (-262537412640768000)^k
+    private BigInteger power;
+
+    ChudnovskyTermGenerator() {
+        this.index = 0;
+        this.multinomial = BigInteger.ONE;
+        this.power = BigInteger.ONE;
+    }
+
+    /**
+     * Creates a generator starting at an arbitrary term. The state of the first term is calculated once using
+     * factorials.
+     *
+     * @param start               The index of the first term. (>=0)
+     * @param factorialCalculator The calculator used for the factorials of the first term
+     */
+    ChudnovskyTermGenerator(int start, FactorialCalculator<BigInteger> factorialCalculator) {
+        this.index = start;
+        BigInteger denominator = factorialCalculator.factorial(3 * start).multiply(factorialCalculator.factorial(start).pow(3));
+        this.multinomial = factorialCalculator.factorial(6 * start).divide(denominator);
+        this.power = number1.pow(start);
+    }
+
+    /**
+     * @return The index of the current term
+     */
+    int getIndex() {
+        return index;
+    }
+
+    /**
+     * @return The nominator of the current term
+     */
+    BigInteger getNominator() {
+        return multinomial.multiply(number0.multiply(BigInteger.valueOf(index)).add(number2));
+    }
+
+    /**
+     * @return The denominator of the current term
+     */
+    BigInteger getDenominator() {
+        return power;
+    }
+
+    /**
+     * Advances the generator to the next term.
+     */
+    void next() {
+        long k = index;
+        BigInteger ratioNominator = BigInteger.valueOf(6 * k + 1)
+                                              .multiply(BigInteger.valueOf(6 * k + 3))
+                                              .multiply(BigInteger.valueOf(8 * (6 * k + 5)));
+        BigInteger ratioDenominator = BigInteger.valueOf(k + 1).pow(3);
+        // the division is always exact, since the multinomial coefficient is an integer
+        multinomial = multinomial.multiply(ratioNominator).divide(ratioDenominator);
+        power = power.multiply(number1);
+        index++;
+    }
+}
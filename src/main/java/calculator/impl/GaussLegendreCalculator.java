@@ -0,0 +1,152 @@
+package calculator.impl;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+import calculator.multiplication.Multiplier;
+import calculator.tools.CancellableExecutor;
+import calculator.tools.NewtonRaphson;
+import calculator.tools.PrecisionProvider;
+
+/**
+ * Implements the Gauss-Legendre algorithm, which calculates PI by the arithmetic-geometric mean. Unlike the infinite
+ * sums, the number of correct digits doubles with every iteration, so only about log2(digits) iterations are required.
+ * Each iteration consists of a full precision square root and a few full precision multiplications. The iterations
+ * themselves are sequential, but the square root and the squaring of an iteration are calculated concurrently. More
+ * information: https://en.wikipedia.org/wiki/Gauss%E2%80%93Legendre_algorithm
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+public class GaussLegendreCalculator extends PiCalculatorImpl implements PrecisionProvider {
+
+    private static final BigDecimal HALF = new BigDecimal("0.5");
+    private static final BigDecimal QUARTER = new BigDecimal("0.25");
+    private static final BigDecimal FOUR = BigDecimal.valueOf(4);
+    // additional digits used for intermediate results, so rounding errors do not show up in the result
+    private static final int GUARD_DIGITS = 10;
+    private static final double LOG10_E = Math.log10(Math.E);
+
+    public GaussLegendreCalculator(ExecutorService service) {
+        super(service);
+    }
+
+    public GaussLegendreCalculator(ExecutorService service, Multiplier multiplier) {
+        super(service, multiplier);
+    }
+
+    @Override
+    public CompletableFuture<BigDecimal> calculateAsync(int iterations) {
+        MathContext context = new MathContext(20);
+        return calculateAsync(iterations, context);
+    }
+
+    @Override
+    CompletableFuture<BigDecimal> calculateAsync(int iterations, MathContext precision, CancellableExecutor executor) {
+        if (iterations < 0) {
+            throw new IllegalArgumentException("Number of iterations cannot be negative");
+        }
+        if (precision.getPrecision() == 0) {
+            throw new IllegalArgumentException("Unlimited precision is not supported");
+        }
+        MathContext workingContext = new MathContext(precision.getPrecision() + GUARD_DIGITS, precision.getRoundingMode());
+        return CompletableFuture.supplyAsync(() -> new State(BigDecimal.ONE, NewtonRaphson.sqrt(HALF, workingContext, multiplier), QUARTER, 0), executor)
+                                .thenCompose(state -> iterateAsync(state, iterations, workingContext, executor))
+                                .thenApply(state -> approximation(state, workingContext).round(precision));
+    }
+
+    /**
+     * The error after n iterations is about pi^2 * 2^(n + 4) * e^(-pi * 2^(n + 1)), see E. Salamin, Computation of pi
+     * Using Arithmetic-Geometric Mean, 1976. One digit is subtracted, since the estimate is slightly too optimistic
+     * for some iterations.
+     */
+    @Override
+    public int getPrecision(int iterations) {
+        if (iterations < 0) {
+            throw new IllegalArgumentException("iterations argument must be >= 0");
+        }
+        if (iterations >= 30) {
+            return Integer.MAX_VALUE;
+        }
+        double power = Math.pow(2, iterations);
+        double digits = Math.PI * 2 * power * LOG10_E - Math.log10(Math.PI * Math.PI * 16 * power);
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(0, Math.floor(digits) - 1));
+    }
+
+    @Override
+    public int getNumIterations(int precision) {
+        if (precision < 0) {
+            throw new IllegalArgumentException("precision argument must be >= 0");
+        }
+        int iterations = 0;
+        while (getPrecision(iterations) < precision) {
+            iterations++;
+        }
+        return iterations;
+    }
+
+    /**
+     * Calculates the remaining iterations, starting with the given state.
+     *
+     * @param state      The state after the last completed iteration
+     * @param iterations The total number of iterations
+     * @param context    The mathematical context of the intermediate results
+     * @param executor   The executor of the calculation
+     * @return A CompletableFuture, containing the state after the last iteration
+     */
+    private CompletableFuture<State> iterateAsync(State state, int iterations, MathContext context, CancellableExecutor executor) {
+        if (state.iteration == iterations) {
+            return CompletableFuture.completedFuture(state);
+        }
+        BigDecimal a = state.a.add(state.b).multiply(HALF).round(context);
+        CompletableFuture<BigDecimal> b = CompletableFuture.supplyAsync(
+                () -> NewtonRaphson.sqrt(multiplier.multiply(state.a, state.b).round(context), context, multiplier), executor);
+        CompletableFuture<BigDecimal> t = CompletableFuture.supplyAsync(() -> {
+            BigDecimal difference = state.a.subtract(a);
+            BigDecimal p = new BigDecimal(BigInteger.ONE.shiftLeft(state.iteration));
+            return state.t.subtract(square(difference).multiply(p)).round(context);
+        }, executor);
+        return b.thenCombine(t, (bigDecimal, bigDecimal2) -> new State(a, bigDecimal, bigDecimal2, state.iteration + 1))
+                .thenCompose(next -> {
+                    // the approximation costs an additional division, so it is only calculated if someone listens
+                    if (eventBus.hasListeners()) {
+                        iterationCompleted(next.iteration - 1, approximation(next, context));
+                    }
+                    return iterateAsync(next, iterations, context, executor);
+                });
+    }
+
+    /**
+     * @return The approximation of PI of the state: (a + b)^2 / (4t)
+     */
+    private BigDecimal approximation(State state, MathContext context) {
+        BigDecimal sum = state.a.add(state.b);
+        return NewtonRaphson.divide(square(sum), state.t.multiply(FOUR), context, multiplier);
+    }
+
+    private BigDecimal square(BigDecimal value) {
+        return new BigDecimal(multiplier.square(value.unscaledValue()), 2 * value.scale());
+    }
+
+    /**
+     * The values a, b and t of the arithmetic-geometric mean after a number of iterations. The value p of the
+     * algorithm is 2^iteration.
+     */
+    private static final class State {
+
+        private final BigDecimal a;
+        private final BigDecimal b;
+        private final BigDecimal t;
+        private final int iteration;
+
+        private State(BigDecimal a, BigDecimal b, BigDecimal t, int iteration) {
+            this.a = a;
+            this.b = b;
+            this.t = t;
+            this.iteration = iteration;
+        }
+    }
+}
@@ -2,17 +2,23 @@ package calculator.impl;
 
 import java.math.BigDecimal;
 import java.math.MathContext;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 
 import calculator.AsyncPiCalculator;
 import calculator.PiCalculator;
 import calculator.SyncPiCalculator;
+import calculator.listeners.PiCalculatorEventBus;
 import calculator.listeners.PiCalculatorEventProvider;
 import calculator.listeners.PiCalculatorListener;
-import calculator.listeners.data.IterationCompletedResult;
+import calculator.metrics.CalculatorMetrics;
+import calculator.multiplication.Multiplier;
+import calculator.multiplication.impl.JavaMultiplier;
+import calculator.tools.CancellableExecutor;
+import calculator.tools.WindowedReduction;
+import lombok.Getter;
 
 /**
  * Basic implementation for any sort of PI calculator
@@ -22,12 +28,27 @@ import calculator.listeners.data.IterationCompletedResult;
  */
 public abstract class PiCalculatorImpl implements PiCalculator, PiCalculatorEventProvider {
 
-    protected Set<PiCalculatorListener> listeners;
+    @Getter
+    protected final PiCalculatorEventBus eventBus;
+    /**
+     * The measurements of the phases of all calculations, disabled by default
+     */
+    @Getter
+    protected final CalculatorMetrics metrics;
     ExecutorService service;
+    final Multiplier multiplier;
+    private boolean streamingSummation;
+    private int summationWindow;
 
     PiCalculatorImpl(ExecutorService service) {
+        this(service, new JavaMultiplier());
+    }
+
+    PiCalculatorImpl(ExecutorService service, Multiplier multiplier) {
         this.service = service;
-        listeners = new HashSet<>();
+        this.multiplier = multiplier;
+        eventBus = new PiCalculatorEventBus();
+        metrics = new CalculatorMetrics();
     }
 
     @Override
@@ -35,6 +56,86 @@ public abstract class PiCalculatorImpl implements PiCalculator, PiCalculatorEven
         this.service = service;
     }
 
+    public boolean isStreamingSummation() {
+        return streamingSummation;
+    }
+
+    /**
+     * Enables or disables the streaming summation. By default the tasks of all terms are created at once and summed up
+     * as a tree, so the terms and their intermediate results of the whole calculation may be in memory at the same
+     * time. The streaming summation only keeps {@link #getSummationWindow()} tasks in flight and folds their results
+     * into a running sum as they complete, so the memory does not grow with the number of iterations. The exact
+     * accumulation of the {@link ChudnovskyCalculator} always streams with the summation window, no matter whether this
+     * option is enabled.
+     *
+     * @param streamingSummation true to keep a bounded number of tasks in flight
+     */
+    public void setStreamingSummation(boolean streamingSummation) {
+        this.streamingSummation = streamingSummation;
+    }
+
+    public int getSummationWindow() {
+        return summationWindow;
+    }
+
+    /**
+     * Sets the maximum number of tasks in flight if the streaming summation or the exact accumulation of the
+     * {@link ChudnovskyCalculator} is enabled. The default 0 derives the window from the parallelism of the executor.
+     *
+     * @param summationWindow The number of tasks in flight, or 0 to choose it adaptively
+     */
+    public void setSummationWindow(int summationWindow) {
+        if (summationWindow < 0) {
+            throw new IllegalArgumentException("Summation window cannot be negative");
+        }
+        this.summationWindow = summationWindow;
+    }
+
+    /**
+     * @return The number of tasks in flight for the streaming summation
+     */
+    int summationWindow() {
+        return summationWindow > 0 ? summationWindow : WindowedReduction.adaptiveWindow(parallelism());
+    }
+
+    /**
+     * @return The number of threads of the executor
+     */
+    int parallelism() {
+        return service instanceof ForkJoinPool
+                ? ((ForkJoinPool) service).getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Starts the calculation. The returned future can be cancelled, which stops all tasks of the calculation which have
+     * not been started yet and signals the running ones to stop, without affecting other calculations on the same
+     * executor. All events of the calculation have been delivered to the listeners when the future completes.
+     */
+    @Override
+    public CompletableFuture<BigDecimal> calculateAsync(int iterations, MathContext precision) {
+        CancellableExecutor executor = new CancellableExecutor(service);
+        return executor.bind(calculateAsync(iterations, precision, executor).thenCompose(this::flushEvents));
+    }
+
+    /**
+     * Waits for the delivery of the remaining events before the result is passed on.
+     */
+    <T> CompletableFuture<T> flushEvents(T result) {
+        return eventBus.flush().thenApply(ignored -> result);
+    }
+
+    /**
+     * Calculates PI. All tasks of the calculation have to be scheduled on the given executor, and long running tasks
+     * should check for cancellation regularly.
+     *
+     * @param iterations The number of iterations
+     * @param precision  The mathematical context that will be applied to the result
+     * @param executor   The executor of this calculation, which is also its cancellation token
+     * @return A CompletableFuture, containing the result of the algorithm.
+     */
+    abstract CompletableFuture<BigDecimal> calculateAsync(int iterations, MathContext precision, CancellableExecutor executor);
+
     @Override
     public BigDecimal calculate(int iterations) {
         try {
@@ -67,28 +168,28 @@ public abstract class PiCalculatorImpl implements PiCalculator, PiCalculatorEven
 
     @Override
     public void addListener(PiCalculatorListener listener) {
-        listeners.add(listener);
+        eventBus.addListener(listener);
     }
 
     @Override
     public void removeListener(PiCalculatorListener listener) {
-        listeners.remove(listener);
+        eventBus.removeListener(listener);
     }
 
     @Override
     public boolean hasListener(PiCalculatorListener listener) {
-        return listeners.contains(listener);
+        return eventBus.hasListener(listener);
     }
 
     /**
      * Call this method as soon as one iteration of the calculation has been completed. This method will invoke the
-     * notifyIterationCompleted method on each listener.
+     * notifyIterationCompleted method on each listener. Callers should check {@link PiCalculatorEventBus#hasListeners()}
+     * first if the result is not available anyway.
      *
      * @param index  The index of the iteration that has been completed.
      * @param result The result of the iteration that has been completed.
      */
     void iterationCompleted(int index, BigDecimal result) {
-        IterationCompletedResult calculationResult = new IterationCompletedResult(result, index);
-        listeners.forEach(listener -> listener.notifyIterationCompleted(calculationResult));
+        eventBus.iterationCompleted(index, result);
     }
 }
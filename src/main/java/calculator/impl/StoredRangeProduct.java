@@ -0,0 +1,65 @@
+package calculator.impl;
+
+import java.io.IOException;
+
+import calculator.storage.MappedArithmetic;
+import calculator.storage.MappedInteger;
+import calculator.storage.MappedStorage;
+import lombok.Getter;
+
+/**
+ * The binary splitting products P, Q and T of a term range like {@link ChudnovskyRangeProduct}, but stored in memory
+ * mapped files. This is used by the out-of-core mode of {@link ChudnovskyBinarySplittingCalculator} for the ranges
+ * whose products are too large for the heap.
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+@Getter
+class StoredRangeProduct {
+
+    private final int from;
+    private final int to;
+    private final MappedInteger p;
+    private final MappedInteger q;
+    private final MappedInteger t;
+
+    private StoredRangeProduct(int from, int to, MappedInteger p, MappedInteger q, MappedInteger t) {
+        this.from = from;
+        this.to = to;
+        this.p = p;
+        this.q = q;
+        this.t = t;
+    }
+
+    /**
+     * Moves the products of a range from the heap into the storage.
+     *
+     * @param product The products of the range
+     * @param storage The storage the products are written to
+     * @return The stored products
+     * @throws IOException If the products could not be stored
+     */
+    static StoredRangeProduct store(ChudnovskyRangeProduct product, MappedStorage storage) throws IOException {
+        return new StoredRangeProduct(product.getFrom(), product.getTo(), storage.store(product.getP()),
+                storage.store(product.getQ()), storage.store(product.getT()));
+    }
+
+    /**
+     * Merges this range with the directly following range. See {@link ChudnovskyRangeProduct#combine}.
+     *
+     * @param right      The range starting where this range ends
+     * @param arithmetic The arithmetic used for the products
+     * @return The products for the union of both ranges
+     * @throws IOException If the results could not be stored
+     */
+    StoredRangeProduct combine(StoredRangeProduct right, MappedArithmetic arithmetic) throws IOException {
+        if (this.to != right.from) {
+            throw new IllegalArgumentException("Ranges [" + from + ", " + to + ") and [" + right.from + ", " + right.to + ") are not adjacent");
+        }
+        MappedInteger p = arithmetic.multiply(this.p, right.p);
+        MappedInteger q = arithmetic.multiply(this.q, right.q);
+        MappedInteger t = arithmetic.add(arithmetic.multiply(right.q, this.t), arithmetic.multiply(this.p, right.t));
+        return new StoredRangeProduct(this.from, right.to, p, q, t);
+    }
+}
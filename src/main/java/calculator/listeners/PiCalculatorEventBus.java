@@ -0,0 +1,244 @@
+package calculator.listeners;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import calculator.listeners.data.ConstantCalculationResult;
+import calculator.listeners.data.DenominatorCalculationResult;
+import calculator.listeners.data.IterationCompletedResult;
+import calculator.listeners.data.NominatorCalculationResult;
+
+/**
+ * Delivers the events of a calculator to its listeners. The listeners may be changed while a calculation is running.
+ * <p>
+ * The calculators ask {@link #hasListeners()} or {@link #hasChudnovskyListeners()} before they construct an event, so
+ * a calculation without listeners does not allocate anything for them. The events are delivered one after another on
+ * the dispatch executor, so the listeners never run on the threads of the calculation and do not have to be thread
+ * safe themselves. Iteration events can be collected into batches of {@link #setBatchSize(int)} events, which are
+ * passed to {@link PiCalculatorListener#notifyIterationsCompleted(List)}.
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+public class PiCalculatorEventBus {
+
+    private final List<PiCalculatorListener> listeners = new CopyOnWriteArrayList<>();
+    private final List<ChudnovskyCalculatorListener> chudnovskyListeners = new CopyOnWriteArrayList<>();
+
+    private final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile Executor dispatcher;
+
+    private final Object batchLock = new Object();
+    private List<IterationCompletedResult> batch = new ArrayList<>();
+    private volatile int batchSize = 1;
+
+    /**
+     * Creates an event bus which delivers the events on a shared pool of daemon threads. Every bus delivers its events
+     * one after another, independently of the other buses.
+     */
+    public PiCalculatorEventBus() {
+        this(DefaultDispatcher.EXECUTOR);
+    }
+
+    /**
+     * @param dispatcher The executor on which the events are delivered. The events are delivered in order, even if the
+     *                   executor uses several threads.
+     */
+    public PiCalculatorEventBus(Executor dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    public void setDispatcher(Executor dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets the number of iteration events which are delivered together. A batch which is not full yet is delivered by
+     * {@link #flush()}, which is called at the end of every calculation.
+     *
+     * @param batchSize The number of iteration events per batch. (>=1)
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        flush();
+        this.batchSize = batchSize;
+    }
+
+    public void addListener(PiCalculatorListener listener) {
+        listeners.add(listener);
+        if (listener instanceof ChudnovskyCalculatorListener) {
+            chudnovskyListeners.add((ChudnovskyCalculatorListener) listener);
+        }
+    }
+
+    public void removeListener(PiCalculatorListener listener) {
+        listeners.remove(listener);
+        if (listener instanceof ChudnovskyCalculatorListener) {
+            chudnovskyListeners.remove(listener);
+        }
+    }
+
+    public boolean hasListener(PiCalculatorListener listener) {
+        return listeners.contains(listener);
+    }
+
+    /**
+     * @return True if iteration events are consumed by anyone
+     */
+    public boolean hasListeners() {
+        return !listeners.isEmpty();
+    }
+
+    /**
+     * @return True if nominator, denominator and constant events are consumed by anyone
+     */
+    public boolean hasChudnovskyListeners() {
+        return !chudnovskyListeners.isEmpty();
+    }
+
+    public void iterationCompleted(int index, BigDecimal result) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        IterationCompletedResult event = new IterationCompletedResult(result, index);
+        if (batchSize == 1) {
+            dispatch(() -> notifyEach(listeners, listener -> listener.notifyIterationCompleted(event)));
+            return;
+        }
+        List<IterationCompletedResult> full = null;
+        synchronized (batchLock) {
+            batch.add(event);
+            if (batch.size() >= batchSize) {
+                full = batch;
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (full != null) {
+            dispatchBatch(full);
+        }
+    }
+
+    public void nominatorCalculated(BigInteger result, int index) {
+        if (chudnovskyListeners.isEmpty()) {
+            return;
+        }
+        NominatorCalculationResult event = new NominatorCalculationResult(result, index);
+        dispatch(() -> notifyEach(chudnovskyListeners, listener -> listener.notifyNominatorCalculationCompleted(event)));
+    }
+
+    public void denominatorCalculated(BigInteger result, int index) {
+        if (chudnovskyListeners.isEmpty()) {
+            return;
+        }
+        DenominatorCalculationResult event = new DenominatorCalculationResult(result, index);
+        dispatch(() -> notifyEach(chudnovskyListeners, listener -> listener.notifyDenominatorCalculationCompleted(event)));
+    }
+
+    public void constantCalculated(BigDecimal result) {
+        if (chudnovskyListeners.isEmpty()) {
+            return;
+        }
+        ConstantCalculationResult event = new ConstantCalculationResult(result);
+        dispatch(() -> notifyEach(chudnovskyListeners, listener -> listener.notifyConstantCalculationCompleted(event)));
+    }
+
+    /**
+     * Delivers the current batch, even if it is not full yet.
+     *
+     * @return A CompletableFuture, which completes as soon as all events published so far have been delivered
+     */
+    public CompletableFuture<Void> flush() {
+        List<IterationCompletedResult> partial = null;
+        synchronized (batchLock) {
+            if (!batch.isEmpty()) {
+                partial = batch;
+                batch = new ArrayList<>();
+            }
+        }
+        if (partial != null) {
+            dispatchBatch(partial);
+        }
+        if (pending.isEmpty() && !draining.get()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> delivered = new CompletableFuture<>();
+        dispatch(() -> delivered.complete(null));
+        return delivered;
+    }
+
+    private void dispatchBatch(List<IterationCompletedResult> events) {
+        List<IterationCompletedResult> view = Collections.unmodifiableList(events);
+        dispatch(() -> notifyEach(listeners, listener -> listener.notifyIterationsCompleted(view)));
+    }
+
+    /**
+     * Queues the delivery and starts draining the queue on the dispatcher unless a drain is already running. Only one
+     * drain runs at a time, which keeps the events in order.
+     */
+    private void dispatch(Runnable delivery) {
+        pending.add(delivery);
+        if (draining.compareAndSet(false, true)) {
+            dispatcher.execute(this::drain);
+        }
+    }
+
+    /**
+     * Notifies the listeners one by one, so a faulty listener does not keep the event from the others.
+     */
+    private static <L> void notifyEach(List<L> listeners, Consumer<L> notification) {
+        for (L listener : listeners) {
+            try {
+                notification.accept(listener);
+            } catch (Throwable e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private void drain() {
+        do {
+            Runnable delivery;
+            while ((delivery = pending.poll()) != null) {
+                try {
+                    delivery.run();
+                } catch (Throwable e) {
+                    // a failed delivery must not leave the queue undrained
+                    e.printStackTrace();
+                }
+            }
+            draining.set(false);
+            // an event may have been queued after the last poll, but before the flag was reset
+        } while (!pending.isEmpty() && draining.compareAndSet(false, true));
+    }
+
+    /**
+     * The threads are shared by all event buses, but every bus drains its own queue, so a slow listener only delays the
+     * events of its own bus.
+     */
+    private static final class DefaultDispatcher {
+        private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "pi-calculator-events");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
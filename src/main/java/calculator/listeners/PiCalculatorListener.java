@@ -1,8 +1,20 @@
 package calculator.listeners;
 
+import java.util.List;
+
 import calculator.listeners.data.IterationCompletedResult;
 
 public interface PiCalculatorListener {
 
     void notifyIterationCompleted(IterationCompletedResult calculationResult);
-}
\ No newline at end of file
+
+    /**
+     * Called instead of {@link #notifyIterationCompleted(IterationCompletedResult)} if the events are delivered in
+     * batches.
+     *
+     * @param calculationResults The completed iterations, in the order they have been completed
+     */
+    default void notifyIterationsCompleted(List<IterationCompletedResult> calculationResults) {
+        calculationResults.forEach(this::notifyIterationCompleted);
+    }
+}
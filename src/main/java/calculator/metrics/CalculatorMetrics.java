@@ -0,0 +1,215 @@
+package calculator.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Measures the phases of a calculation. For every phase the number of tasks, their wall and CPU time and the bit length
+ * of the numbers they produce are recorded.
+ * <p>
+ * The calculators wrap their tasks by {@link #supplier(Phase, Supplier)}, {@link #function(Phase, Function)},
+ * {@link #combiner(Phase, BiFunction)} or {@link #executor(Phase, Executor)} when they schedule them. If the metrics are
+ * disabled, the task itself is returned, so a disabled instance costs a single volatile read per scheduled task. The
+ * measurements are published by {@link #snapshot()} and by JMX, see {@link #register(String)}.
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+public class CalculatorMetrics implements CalculatorMetricsMXBean {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final boolean CPU_TIME_SUPPORTED = THREADS.isCurrentThreadCpuTimeSupported();
+
+    private final Map<Phase, PhaseMetrics> phases = new EnumMap<>(Phase.class);
+    private volatile boolean enabled;
+
+    public CalculatorMetrics() {
+        for (Phase phase : Phase.values()) {
+            phases.put(phase, new PhaseMetrics());
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void reset() {
+        phases.values().forEach(PhaseMetrics::reset);
+    }
+
+    @Override
+    public List<PhaseSnapshot> getPhases() {
+        return new ArrayList<>(snapshot().values());
+    }
+
+    /**
+     * @return The current measurements of all phases
+     */
+    public Map<Phase, PhaseSnapshot> snapshot() {
+        Map<Phase, PhaseSnapshot> snapshot = new EnumMap<>(Phase.class);
+        phases.forEach((phase, metrics) -> snapshot.put(phase, metrics.snapshot(phase)));
+        return snapshot;
+    }
+
+    /**
+     * Registers these metrics at the platform MBean server.
+     *
+     * @param name The name which identifies the calculator
+     * @return The name of the MBean
+     * @throws JMException If the name is invalid or already in use
+     */
+    public ObjectName register(String name) throws JMException {
+        ObjectName objectName = new ObjectName("calculator:type=CalculatorMetrics,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        return objectName;
+    }
+
+    /**
+     * Runs the task immediately and measures it.
+     *
+     * @param phase The phase of the task
+     * @param task  The task to measure
+     * @param <T>   The type of the result
+     * @return The result of the task
+     */
+    public <T> T get(Phase phase, Supplier<T> task) {
+        if (!enabled) {
+            return task.get();
+        }
+        return measure(phases.get(phase), task);
+    }
+
+    /**
+     * Runs the task immediately and measures it.
+     *
+     * @param phase The phase of the task
+     * @param task  The task to measure
+     */
+    public void run(Phase phase, Runnable task) {
+        if (!enabled) {
+            task.run();
+            return;
+        }
+        measure(phases.get(phase), () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    public <T> Supplier<T> supplier(Phase phase, Supplier<T> task) {
+        if (!enabled) {
+            return task;
+        }
+        PhaseMetrics metrics = phases.get(phase);
+        return () -> measure(metrics, task);
+    }
+
+    public <T, R> Function<T, R> function(Phase phase, Function<T, R> task) {
+        if (!enabled) {
+            return task;
+        }
+        PhaseMetrics metrics = phases.get(phase);
+        return t -> measure(metrics, () -> task.apply(t));
+    }
+
+    public <T, U, R> BiFunction<T, U, R> combiner(Phase phase, BiFunction<T, U, R> task) {
+        if (!enabled) {
+            return task;
+        }
+        PhaseMetrics metrics = phases.get(phase);
+        return (t, u) -> measure(metrics, () -> task.apply(t, u));
+    }
+
+    /**
+     * Measures every task which is run by the returned executor. The sizes of the results are not known to the
+     * executor, so only the times and the number of tasks are recorded.
+     *
+     * @param phase    The phase of the tasks
+     * @param executor The executor which runs the tasks
+     * @return An executor which measures the tasks, or the given executor if the metrics are disabled
+     */
+    public Executor executor(Phase phase, Executor executor) {
+        if (!enabled) {
+            return executor;
+        }
+        PhaseMetrics metrics = phases.get(phase);
+        return command -> executor.execute(() -> measure(metrics, () -> {
+            command.run();
+            return null;
+        }));
+    }
+
+    private static <T> T measure(PhaseMetrics metrics, Supplier<T> task) {
+        long wall = System.nanoTime();
+        long cpu = cpuTime();
+        T result = task.get();
+        metrics.record(System.nanoTime() - wall, cpuTime() - cpu, result);
+        return result;
+    }
+
+    private static long cpuTime() {
+        return CPU_TIME_SUPPORTED ? THREADS.getCurrentThreadCpuTime() : 0;
+    }
+
+    private static class PhaseMetrics {
+        private final LongAdder tasks = new LongAdder();
+        private final LongAdder wallNanos = new LongAdder();
+        private final LongAdder cpuNanos = new LongAdder();
+        private final LongAdder operands = new LongAdder();
+        private final LongAdder operandBits = new LongAdder();
+        private final LongAccumulator maxOperandBits = new LongAccumulator(Math::max, 0);
+
+        void record(long wall, long cpu, Object result) {
+            tasks.increment();
+            wallNanos.add(wall);
+            cpuNanos.add(cpu);
+            long bits;
+            if (result instanceof BigInteger) {
+                bits = ((BigInteger) result).bitLength();
+            } else if (result instanceof BigDecimal) {
+                bits = ((BigDecimal) result).unscaledValue().bitLength();
+            } else {
+                return;
+            }
+            operands.increment();
+            operandBits.add(bits);
+            maxOperandBits.accumulate(bits);
+        }
+
+        void reset() {
+            tasks.reset();
+            wallNanos.reset();
+            cpuNanos.reset();
+            operands.reset();
+            operandBits.reset();
+            maxOperandBits.reset();
+        }
+
+        PhaseSnapshot snapshot(Phase phase) {
+            return new PhaseSnapshot(phase.name(), tasks.sum(), wallNanos.sum(), cpuNanos.sum(), operands.sum(),
+                    operandBits.sum(), maxOperandBits.get());
+        }
+    }
+}
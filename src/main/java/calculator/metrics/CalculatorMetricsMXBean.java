@@ -0,0 +1,26 @@
+package calculator.metrics;
+
+import java.util.List;
+
+/**
+ * The management interface of {@link CalculatorMetrics}.
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+public interface CalculatorMetricsMXBean {
+
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    /**
+     * Sets all measurements back to 0.
+     */
+    void reset();
+
+    /**
+     * @return The measurements of all phases, in the order of {@link Phase}
+     */
+    List<PhaseSnapshot> getPhases();
+}
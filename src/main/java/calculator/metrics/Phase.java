@@ -0,0 +1,38 @@
+package calculator.metrics;
+
+/**
+ * The phases of a calculation which are measured by {@link CalculatorMetrics}.
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+public enum Phase {
+    /**
+     * The constant factor of the series, e.g. 426880 * sqrt(10005) of the Chudnovsky algorithm
+     */
+    CONSTANT,
+    /**
+     * The nominators of the terms
+     */
+    NOMINATOR,
+    /**
+     * The denominators of the terms
+     */
+    DENOMINATOR,
+    /**
+     * The derivation of a term from its predecessor, or the combination of several terms into a single fraction
+     */
+    TERMS,
+    /**
+     * The division of the terms
+     */
+    DIVISION,
+    /**
+     * The summation of the terms
+     */
+    SUMMATION,
+    /**
+     * The division which turns the sum into PI
+     */
+    FINAL_DIVISION
+}
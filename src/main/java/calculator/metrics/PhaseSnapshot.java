@@ -0,0 +1,44 @@
+package calculator.metrics;
+
+import lombok.Getter;
+
+/**
+ * The measurements of a single phase at a certain point in time. The times are summed up over all tasks of the phase,
+ * so they exceed the elapsed time if the tasks ran concurrently.
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+@Getter
+public class PhaseSnapshot {
+    private final String phase;
+    private final long tasks;
+    private final long wallNanos;
+    private final long cpuNanos;
+    private final long operands;
+    private final long operandBits;
+    private final long maxOperandBits;
+
+    public PhaseSnapshot(String phase, long tasks, long wallNanos, long cpuNanos, long operands, long operandBits, long maxOperandBits) {
+        this.phase = phase;
+        this.tasks = tasks;
+        this.wallNanos = wallNanos;
+        this.cpuNanos = cpuNanos;
+        this.operands = operands;
+        this.operandBits = operandBits;
+        this.maxOperandBits = maxOperandBits;
+    }
+
+    /**
+     * @return The average bit length of the numbers produced by this phase, 0 if there are none
+     */
+    public long getAverageOperandBits() {
+        return operands == 0 ? 0 : operandBits / operands;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d tasks, wall %.3f ms, cpu %.3f ms, operands %d (avg %d bits, max %d bits)", phase,
+                tasks, wallNanos / 1e6, cpuNanos / 1e6, operands, getAverageOperandBits(), maxOperandBits);
+    }
+}
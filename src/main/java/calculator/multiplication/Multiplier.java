@@ -0,0 +1,53 @@
+package calculator.multiplication;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Strategy for the multiplication of big integers. The calculators use this interface for all multiplications of large
+ * operands, so a faster multiplication algorithm can be plugged in.
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface Multiplier {
+
+    BigInteger multiply(BigInteger a, BigInteger b);
+
+    default BigInteger square(BigInteger a) {
+        return multiply(a, a);
+    }
+
+    /**
+     * Raises the base to the given exponent by repeated squaring.
+     *
+     * @param base     The base
+     * @param exponent The exponent (>=0)
+     * @return base^exponent
+     */
+    default BigInteger pow(BigInteger base, int exponent) {
+        if (exponent < 0) {
+            throw new ArithmeticException("Negative exponent");
+        }
+        BigInteger result = BigInteger.ONE;
+        for (int bit = Integer.SIZE - Integer.numberOfLeadingZeros(exponent) - 1; bit >= 0; bit--) {
+            result = square(result);
+            if ((exponent >>> bit & 1) == 1) {
+                result = multiply(result, base);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Multiplies two decimal numbers exactly.
+     *
+     * @param a The first factor
+     * @param b The second factor
+     * @return a * b without any rounding
+     */
+    default BigDecimal multiply(BigDecimal a, BigDecimal b) {
+        return new BigDecimal(multiply(a.unscaledValue(), b.unscaledValue()), a.scale() + b.scale());
+    }
+}
@@ -0,0 +1,25 @@
+package calculator.multiplication.impl;
+
+import java.math.BigInteger;
+
+import calculator.multiplication.Multiplier;
+
+/**
+ * Uses the multiplication built into {@link BigInteger}, which switches between schoolbook, Karatsuba and Toom-Cook 3
+ * multiplication.
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+public class JavaMultiplier implements Multiplier {
+
+    @Override
+    public BigInteger multiply(BigInteger a, BigInteger b) {
+        return a.multiply(b);
+    }
+
+    @Override
+    public BigInteger pow(BigInteger base, int exponent) {
+        return base.pow(exponent);
+    }
+}
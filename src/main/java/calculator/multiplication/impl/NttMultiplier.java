@@ -0,0 +1,222 @@
+package calculator.multiplication.impl;
+
+import java.math.BigInteger;
+
+import calculator.multiplication.Multiplier;
+
+/**
+ * Multiplies big integers using a number theoretic transform (NTT), which needs O(n log n) operations instead of the
+ * O(n^1.46) of the Toom-Cook 3 multiplication built into {@link BigInteger}. The operands are split into 16 bit limbs,
+ * which are convolved modulo two NTT friendly primes. The exact coefficients are restored by the chinese remainder
+ * theorem. Operands below the threshold are multiplied by {@link BigInteger#multiply(BigInteger)}, since the
+ * transform only pays off for large numbers. More information:
+ * https://en.wikipedia.org/wiki/Sch%C3%B6nhage%E2%80%93Strassen_algorithm
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+public class NttMultiplier implements Multiplier {
+
+    /**
+     * Default size in bits of the smaller operand from which on the transform is used.
+     */
+    public static final int DEFAULT_THRESHOLD = 1 << 20;
+
+    // 119 * 2^23 + 1
+    private static final long MOD1 = 998244353L;
+    // 7 * 2^26 + 1
+    private static final long MOD2 = 469762049L;
+    // 3 is a primitive root of both primes
+    private static final long ROOT = 3;
+    private static final long MOD1_INVERSE = modPow(MOD1 % MOD2, MOD2 - 2, MOD2);
+    // a coefficient is at most 2^23 * (2^16 - 1)^2 < 2^55, which is less than MOD1 * MOD2
+    private static final int MAX_LENGTH = 1 << 23;
+    private static final int LIMB_BITS = 16;
+    private static final int LIMB_MASK = (1 << LIMB_BITS) - 1;
+
+    private final int threshold;
+
+    public NttMultiplier() {
+        this(DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * @param threshold The size in bits of the smaller operand from which on the transform is used
+     */
+    public NttMultiplier(int threshold) {
+        if (threshold < 0) {
+            throw new IllegalArgumentException("threshold must be >= 0");
+        }
+        this.threshold = threshold;
+    }
+
+    @Override
+    public BigInteger multiply(BigInteger a, BigInteger b) {
+        if (Math.min(a.bitLength(), b.bitLength()) < threshold || a.signum() == 0 || b.signum() == 0) {
+            return a.multiply(b);
+        }
+        // operands of fixed point arithmetic often end with many zero bits, which do not need to be transformed
+        int zerosA = a.getLowestSetBit();
+        int zerosB = b.getLowestSetBit();
+        BigInteger result = multiplyMagnitude(a.abs().shiftRight(zerosA), b.abs().shiftRight(zerosB)).shiftLeft(zerosA + zerosB);
+        return a.signum() == b.signum() ? result : result.negate();
+    }
+
+    @Override
+    public BigInteger square(BigInteger a) {
+        if (a.bitLength() < threshold || a.signum() == 0) {
+            return a.multiply(a);
+        }
+        int zeros = a.getLowestSetBit();
+        BigInteger magnitude = a.abs().shiftRight(zeros);
+        int limbs = limbCount(magnitude);
+        if (2 * limbs > MAX_LENGTH) {
+            return multiplyMagnitude(magnitude, magnitude).shiftLeft(2 * zeros);
+        }
+        int length = Integer.highestOneBit(2 * limbs - 1) << 1;
+        long[] coefficients1 = convolve(toLimbs(magnitude, length), null, MOD1);
+        long[] coefficients2 = convolve(toLimbs(magnitude, length), null, MOD2);
+        return fromCoefficients(coefficients1, coefficients2).shiftLeft(2 * zeros);
+    }
+
+    private BigInteger multiplyMagnitude(BigInteger a, BigInteger b) {
+        int limbsA = limbCount(a);
+        int limbsB = limbCount(b);
+        if (limbsA + limbsB > MAX_LENGTH) {
+            // the product is too large for a single transform, so the larger operand is split in half
+            BigInteger larger = limbsA >= limbsB ? a : b;
+            BigInteger smaller = limbsA >= limbsB ? b : a;
+            int shift = larger.bitLength() / 2;
+            BigInteger high = larger.shiftRight(shift);
+            BigInteger low = larger.subtract(high.shiftLeft(shift));
+            return multiplyMagnitude(high, smaller).shiftLeft(shift).add(multiplyMagnitude(low, smaller));
+        }
+        int length = Integer.highestOneBit(limbsA + limbsB - 1) << 1;
+        long[] coefficients1 = convolve(toLimbs(a, length), toLimbs(b, length), MOD1);
+        long[] coefficients2 = convolve(toLimbs(a, length), toLimbs(b, length), MOD2);
+        return fromCoefficients(coefficients1, coefficients2);
+    }
+
+    /**
+     * Calculates the cyclic convolution of a and b modulo a prime. If b is null, a is convolved with itself.
+     */
+    private static long[] convolve(long[] a, long[] b, long mod) {
+        transform(a, mod, false);
+        if (b == null) {
+            b = a;
+        } else {
+            transform(b, mod, false);
+        }
+        for (int i = 0; i < a.length; i++) {
+            a[i] = a[i] * b[i] % mod;
+        }
+        transform(a, mod, true);
+        return a;
+    }
+
+    /**
+     * Iterative in-place Cooley-Tukey transform over the field of integers modulo a prime.
+     */
+    private static void transform(long[] a, long mod, boolean inverse) {
+        int n = a.length;
+        for (int i = 1, j = 0; i < n; i++) {
+            int bit = n >> 1;
+            for (; (j & bit) != 0; bit >>= 1) {
+                j ^= bit;
+            }
+            j ^= bit;
+            if (i < j) {
+                long temp = a[i];
+                a[i] = a[j];
+                a[j] = temp;
+            }
+        }
+        long[] roots = new long[n / 2];
+        // roots scaled by 2^32 / mod, which allows to replace the modulo operation by multiplications (Shoup's trick)
+        long[] scaledRoots = new long[n / 2];
+        for (int length = 2; length <= n; length <<= 1) {
+            int half = length / 2;
+            long root = modPow(ROOT, (mod - 1) / length, mod);
+            if (inverse) {
+                root = modPow(root, mod - 2, mod);
+            }
+            roots[0] = 1;
+            for (int k = 1; k < half; k++) {
+                roots[k] = roots[k - 1] * root % mod;
+            }
+            for (int k = 0; k < half; k++) {
+                scaledRoots[k] = (roots[k] << 32) / mod;
+            }
+            for (int i = 0; i < n; i += length) {
+                for (int k = 0; k < half; k++) {
+                    long u = a[i + k];
+                    long w = a[i + k + half];
+                    long v = w * roots[k] - (w * scaledRoots[k] >>> 32) * mod;
+                    if (v >= mod) {
+                        v -= mod;
+                    }
+                    long sum = u + v;
+                    long difference = u - v;
+                    a[i + k] = sum >= mod ? sum - mod : sum;
+                    a[i + k + half] = difference < 0 ? difference + mod : difference;
+                }
+            }
+        }
+        if (inverse) {
+            long lengthInverse = modPow(n, mod - 2, mod);
+            for (int i = 0; i < n; i++) {
+                a[i] = a[i] * lengthInverse % mod;
+            }
+        }
+    }
+
+    private static BigInteger fromCoefficients(long[] coefficients1, long[] coefficients2) {
+        int length = coefficients1.length;
+        // two bytes per limb, plus room for the final carry
+        byte[] bytes = new byte[2 * length + 8];
+        long carry = 0;
+        int position = bytes.length - 1;
+        for (int i = 0; i < length; i++) {
+            long r1 = coefficients1[i];
+            long t = (coefficients2[i] - r1 % MOD2 + MOD2) % MOD2 * MOD1_INVERSE % MOD2;
+            carry += r1 + MOD1 * t;
+            bytes[position--] = (byte) carry;
+            bytes[position--] = (byte) (carry >>> 8);
+            carry >>>= LIMB_BITS;
+        }
+        while (carry != 0) {
+            bytes[position--] = (byte) carry;
+            carry >>>= 8;
+        }
+        return new BigInteger(1, bytes);
+    }
+
+    private static long[] toLimbs(BigInteger value, int length) {
+        byte[] bytes = value.toByteArray();
+        long[] limbs = new long[length];
+        int limb = 0;
+        for (int i = bytes.length - 1; i >= 0; i -= 2) {
+            int low = bytes[i] & 0xFF;
+            int high = i > 0 ? bytes[i - 1] & 0xFF : 0;
+            limbs[limb++] = (high << 8 | low) & LIMB_MASK;
+        }
+        return limbs;
+    }
+
+    private static int limbCount(BigInteger value) {
+        return (value.bitLength() + LIMB_BITS - 1) / LIMB_BITS;
+    }
+
+    private static long modPow(long base, long exponent, long mod) {
+        long result = 1;
+        base %= mod;
+        while (exponent > 0) {
+            if ((exponent & 1) == 1) {
+                result = result * base % mod;
+            }
+            base = base * base % mod;
+            exponent >>= 1;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,203 @@
+package calculator.output;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+
+import calculator.multiplication.Multiplier;
+import calculator.tools.BarrettDivisor;
+
+/**
+ * Converts big decimal numbers into their plain decimal representation (like {@link BigDecimal#toPlainString()}). The
+ * conversion is done by divide and conquer: the unscaled value is split by a power of ten into a high and a low part,
+ * which are converted concurrently. The powers are of the form 10^(leafDigits * 2^i), so the split positions only
+ * depend on the number of digits. If a multiplier is given, the reciprocals of the powers are calculated once per
+ * conversion, which turns every split into two multiplications (see {@link BarrettDivisor}). This pays off with a fast
+ * multiplier like the NttMultiplier. Otherwise {@link BigInteger#divideAndRemainder(BigInteger)} is used. Parts with
+ * at most leafDigits digits are converted by {@link BigInteger#toString()}.
+ * The digits are written to a {@link DigitSink} in order as soon as the parts are available, without ever building
+ * the complete String.
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+public class DecimalConverter {
+
+    private static final double LOG10_2 = Math.log(2) / Math.log(10);
+    private static final int DEFAULT_LEAF_DIGITS = 1 << 16;
+
+    private final ExecutorService service;
+    private final int leafDigits;
+    private final Multiplier multiplier;
+
+    public DecimalConverter(ExecutorService service) {
+        this(service, DEFAULT_LEAF_DIGITS, null);
+    }
+
+    /**
+     * @param service    The executor the parts are converted on
+     * @param leafDigits Parts with at most this many digits are converted directly
+     * @param multiplier The multiplier used for the powers of ten and the divisions, or null to use the division of
+     *                   BigInteger
+     */
+    public DecimalConverter(ExecutorService service, int leafDigits, Multiplier multiplier) {
+        if (leafDigits < 1) {
+            throw new IllegalArgumentException("leafDigits must be >= 1");
+        }
+        this.service = service;
+        this.leafDigits = leafDigits;
+        this.multiplier = multiplier;
+    }
+
+    /**
+     * Writes the plain decimal representation of the given number to the sink.
+     *
+     * @param value The number to convert
+     * @param sink  The sink receiving the digits
+     * @return A CompletableFuture, which is completed as soon as all digits have been written
+     */
+    public CompletableFuture<Void> writeAsync(BigDecimal value, DigitSink sink) {
+        BigInteger unscaled = value.unscaledValue().abs();
+        // like toPlainString, a zero is written without the trailing zeros of a negative scale
+        int scale = value.signum() == 0 ? Math.max(value.scale(), 0) : value.scale();
+        // the estimate may be one digit too large, the leading zero is skipped while writing
+        int digits = Math.max((int) (unscaled.bitLength() * LOG10_2) + 1, scale + 1);
+
+        List<CompletableFuture<Function<BigInteger, BigInteger[]>>> powers = powersAsync(digits);
+        List<CompletableFuture<char[]>> leaves = new ArrayList<>();
+        split(CompletableFuture.completedFuture(unscaled), digits, powers, leaves);
+
+        DigitWriter writer = new DigitWriter(sink, digits, scale);
+        CompletableFuture<Void> result = CompletableFuture.runAsync(() -> {
+            if (value.signum() < 0) {
+                writer.writeSign();
+            }
+        }, service);
+        for (CompletableFuture<char[]> leaf : leaves) {
+            result = result.thenCombine(leaf, (unused, chars) -> {
+                writer.write(chars);
+                return null;
+            });
+        }
+        return result.thenRun(writer::finish);
+    }
+
+    /**
+     * Calculates the powers 10^(leafDigits * 2^i) which are required to split a number with the given amount of
+     * digits. The reciprocals of all powers are calculated concurrently.
+     */
+    private List<CompletableFuture<Function<BigInteger, BigInteger[]>>> powersAsync(int digits) {
+        List<CompletableFuture<Function<BigInteger, BigInteger[]>>> powers = new ArrayList<>();
+        CompletableFuture<BigInteger> power = CompletableFuture.supplyAsync(() -> BigInteger.TEN.pow(leafDigits), service);
+        for (long length = leafDigits; length < digits; length *= 2) {
+            if (multiplier == null) {
+                powers.add(power.thenApply(bigInteger -> value -> value.divideAndRemainder(bigInteger)));
+                power = power.thenApplyAsync(bigInteger -> bigInteger.multiply(bigInteger), service);
+            } else {
+                powers.add(power.thenApplyAsync(bigInteger -> new BarrettDivisor(bigInteger, multiplier)::divideAndRemainder, service));
+                power = power.thenApplyAsync(multiplier::square, service);
+            }
+        }
+        return powers;
+    }
+
+    /**
+     * Splits the conversion of a number with the given amount of digits (including leading zeros) into leaves.
+     */
+    private void split(CompletableFuture<BigInteger> value, int digits, List<CompletableFuture<Function<BigInteger, BigInteger[]>>> powers, List<CompletableFuture<char[]>> leaves) {
+        if (digits <= leafDigits) {
+            leaves.add(value.thenApplyAsync(bigInteger -> toDigits(bigInteger, digits), service));
+            return;
+        }
+        int level = 0;
+        long splitDigits = leafDigits;
+        while (splitDigits * 2 < digits) {
+            splitDigits *= 2;
+            level++;
+        }
+        CompletableFuture<BigInteger[]> parts = value.thenCombineAsync(powers.get(level), (bigInteger, divisor) -> divisor.apply(bigInteger), service);
+        split(parts.thenApply(array -> array[0]), digits - (int) splitDigits, powers, leaves);
+        split(parts.thenApply(array -> array[1]), (int) splitDigits, powers, leaves);
+    }
+
+    private static char[] toDigits(BigInteger value, int digits) {
+        String string = value.toString();
+        char[] chars = new char[digits];
+        int padding = digits - string.length();
+        for (int i = 0; i < padding; i++) {
+            chars[i] = '0';
+        }
+        string.getChars(0, string.length(), chars, padding);
+        return chars;
+    }
+
+    /**
+     * Writes the digits of the unscaled value to the sink. Skips the leading zero of the estimated number of digits and
+     * inserts the decimal point, or the trailing zeros of a negative scale.
+     */
+    private static class DigitWriter {
+        private static final char[] SIGN = {'-'};
+        private static final char[] POINT = {'.'};
+        private static final int ZEROS_CHUNK = 4096;
+
+        private final DigitSink sink;
+        private final int digits;
+        private final int scale;
+        private final boolean skipLeadingZero;
+        private int position;
+
+        DigitWriter(DigitSink sink, int digits, int scale) {
+            this.sink = sink;
+            this.digits = digits;
+            this.scale = scale;
+            // a zero in front of the decimal point is only kept if it is the only digit there
+            this.skipLeadingZero = digits - scale > 1;
+        }
+
+        void writeSign() {
+            write(SIGN, 0, 1);
+        }
+
+        void write(char[] chars) {
+            int offset = position == 0 && skipLeadingZero && chars[0] == '0' ? 1 : 0;
+            int pointIndex = digits - scale - position;
+            if (scale > 0 && pointIndex >= offset && pointIndex < chars.length) {
+                write(chars, offset, pointIndex - offset);
+                write(POINT, 0, 1);
+                write(chars, pointIndex, chars.length - pointIndex);
+            } else {
+                write(chars, offset, chars.length - offset);
+            }
+            position += chars.length;
+        }
+
+        void finish() {
+            if (scale >= 0) {
+                return;
+            }
+            char[] zeros = new char[Math.min(-scale, ZEROS_CHUNK)];
+            Arrays.fill(zeros, '0');
+            for (int remaining = -scale; remaining > 0; remaining -= zeros.length) {
+                write(zeros, 0, Math.min(remaining, zeros.length));
+            }
+        }
+
+        private void write(char[] chars, int offset, int length) {
+            if (length == 0) {
+                return;
+            }
+            try {
+                sink.write(chars, offset, length);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package calculator.output;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+
+/**
+ * Receives the decimal representation of a number chunk by chunk, so the digits never need to be kept in a single
+ * String.
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface DigitSink {
+
+    /**
+     * Receives the next chunk of characters. The buffer may be reused after this method returns.
+     *
+     * @param chars  The buffer containing the chunk
+     * @param offset The offset of the chunk inside the buffer
+     * @param length The length of the chunk
+     * @throws IOException If the chunk could not be written
+     */
+    void write(char[] chars, int offset, int length) throws IOException;
+
+    /**
+     * Creates a sink which appends all chunks to the given appendable, for example System.out.
+     *
+     * @param appendable The target of the chunks
+     * @return The sink
+     */
+    static DigitSink of(Appendable appendable) {
+        return (chars, offset, length) -> appendable.append(CharBuffer.wrap(chars, offset, length));
+    }
+}
@@ -0,0 +1,129 @@
+package calculator.output;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.MathContext;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes digits directly to a file. The characters are encoded into a fixed size direct buffer which is written to a
+ * {@link FileChannel} whenever it is full, so no String containing the digits is ever created. Optionally the file
+ * starts with a small header describing the calculation, and the digits after the decimal point are split into groups
+ * and lines for readability.
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+public class FileDigitSink implements DigitSink, Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final int groupSize;
+    private final int groupsPerLine;
+
+    private boolean fraction;
+    private long fractionDigits;
+    private boolean closed;
+
+    /**
+     * Creates a sink without header and grouping.
+     *
+     * @param path The file to write to. An existing file will be overwritten.
+     * @throws IOException If the file could not be opened
+     */
+    public FileDigitSink(Path path) throws IOException {
+        this(path, null, null, 0, 0);
+    }
+
+    /**
+     * @param path          The file to write to. An existing file will be overwritten.
+     * @param algorithm     The name of the algorithm written to the header, or null to omit the header
+     * @param precision     The precision written to the header
+     * @param groupSize     The number of digits per group after the decimal point, or 0 to disable grouping
+     * @param groupsPerLine The number of groups per line, or 0 to write all groups into one line
+     * @throws IOException If the file could not be opened
+     */
+    public FileDigitSink(Path path, String algorithm, MathContext precision, int groupSize, int groupsPerLine) throws IOException {
+        if (groupSize < 0 || groupsPerLine < 0) {
+            throw new IllegalArgumentException("groupSize and groupsPerLine must be >= 0");
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        this.groupSize = groupSize;
+        this.groupsPerLine = groupsPerLine;
+        if (algorithm != null) {
+            writeHeader(algorithm, precision);
+        }
+    }
+
+    private void writeHeader(String algorithm, MathContext precision) throws IOException {
+        String header = "# algorithm: " + algorithm + "\n"
+                + "# precision: " + precision.getPrecision() + "\n"
+                + "# rounding: " + precision.getRoundingMode() + "\n";
+        byte[] bytes = header.getBytes(StandardCharsets.US_ASCII);
+        for (byte b : bytes) {
+            put(b);
+        }
+    }
+
+    @Override
+    public void write(char[] chars, int offset, int length) throws IOException {
+        for (int i = offset; i < offset + length; i++) {
+            char c = chars[i];
+            if (fraction && groupSize > 0) {
+                if (fractionDigits > 0 && fractionDigits % groupSize == 0) {
+                    long groups = fractionDigits / groupSize;
+                    put(groupsPerLine > 0 && groups % groupsPerLine == 0 ? (byte) '\n' : (byte) ' ');
+                }
+                fractionDigits++;
+            }
+            put((byte) c);
+            if (c == '.') {
+                fraction = true;
+                if (groupSize > 0 && groupsPerLine > 0) {
+                    put((byte) '\n');
+                }
+            }
+        }
+    }
+
+    private void put(byte b) throws IOException {
+        if (!buffer.hasRemaining()) {
+            flush();
+        }
+        buffer.put(b);
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Terminates the last line, writes all buffered digits and closes the file. Closing the sink again has no effect.
+     *
+     * @throws IOException If the digits could not be written
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            put((byte) '\n');
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
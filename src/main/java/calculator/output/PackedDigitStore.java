@@ -0,0 +1,357 @@
+package calculator.output;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Stores the digits of a result packed into 4 bit nibbles outside the Java heap, two digits per byte. Decimal digits
+ * are stored as BCD, hexadecimal digits (e.g. from
+ * {@link calculator.impl.BaileyBorweinPlouffeCalculator#hexDigitsAsync(long, int)}) as their values. The first digit
+ * of a byte is stored in its high nibble. The bytes are held either in direct buffers or in a memory mapped file, and
+ * split into segments of 2^30 bytes, since a single buffer cannot exceed 2 GiB.
+ * <p>
+ * The store is a {@link DigitSink}, so a result can be written into it by the {@link DecimalConverter}:
+ * <pre>
+ * PackedDigitStore store = PackedDigitStore.allocate(PackedDigitStore.Radix.DECIMAL, precision + 1);
+ * converter.writeAsync(pi, store).get();
+ * </pre>
+ * Only the digits are stored, the position of the decimal point is kept separately (see {@link #getIntegerDigits()}).
+ * The digits are written by a single thread, while any number of threads may read the digits which have been written.
+ * None of the read methods allocates.
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+public final class PackedDigitStore implements DigitSink {
+
+    /**
+     * The radix of the stored digits
+     */
+    public enum Radix {
+        DECIMAL(10),
+        HEXADECIMAL(16);
+
+        private final int value;
+
+        Radix(int value) {
+            this.value = value;
+        }
+
+        public int getValue() {
+            return value;
+        }
+
+        static Radix of(int value) {
+            for (Radix radix : values()) {
+                if (radix.value == value) {
+                    return radix;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported radix " + value);
+        }
+    }
+
+    static final int SEGMENT_SHIFT = 30;
+    static final int SEGMENT_MASK = (1 << SEGMENT_SHIFT) - 1;
+
+    // "PDS1", followed by the radix, the number of digits and the number of integer digits
+    private static final int MAGIC = 0x50445331;
+    private static final int HEADER_SIZE = 24;
+    private static final int RADIX_OFFSET = 4;
+    private static final int LENGTH_OFFSET = 8;
+    private static final int INTEGER_DIGITS_OFFSET = 16;
+
+    private static final char[] DIGITS = "0123456789ABCDEF".toCharArray();
+
+    private final Radix radix;
+    private final long capacity;
+    private final ByteBuffer[] segments;
+    private final ByteBuffer header;
+    private final boolean readOnly;
+
+    private volatile long length;
+    private volatile long integerDigits = -1;
+
+    private PackedDigitStore(Radix radix, long capacity, ByteBuffer[] segments, ByteBuffer header, boolean readOnly) {
+        this.radix = radix;
+        this.capacity = capacity;
+        this.segments = segments;
+        this.header = header;
+        this.readOnly = readOnly;
+    }
+
+    /**
+     * Creates an empty store in direct buffers.
+     *
+     * @param radix    The radix of the digits
+     * @param capacity The maximum number of digits
+     * @return The store
+     */
+    public static PackedDigitStore allocate(Radix radix, long capacity) {
+        checkCapacity(capacity);
+        long bytes = (capacity + 1) / 2;
+        ByteBuffer[] segments = new ByteBuffer[segmentCount(bytes)];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = ByteBuffer.allocateDirect(segmentSize(bytes, i));
+        }
+        return new PackedDigitStore(radix, capacity, segments, null, false);
+    }
+
+    /**
+     * Creates an empty store in a memory mapped file. The number of digits is kept up to date in the header of the
+     * file, so the digits can be opened again by {@link #open(Path)}.
+     *
+     * @param file     The file to create. An existing file will be overwritten.
+     * @param radix    The radix of the digits
+     * @param capacity The maximum number of digits
+     * @return The store
+     * @throws IOException If the file could not be created or mapped
+     */
+    public static PackedDigitStore create(Path file, Radix radix, long capacity) throws IOException {
+        checkCapacity(capacity);
+        long bytes = (capacity + 1) / 2;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            header.putInt(0, MAGIC);
+            header.putInt(RADIX_OFFSET, radix.getValue());
+            header.putLong(LENGTH_OFFSET, 0);
+            header.putLong(INTEGER_DIGITS_OFFSET, -1);
+            ByteBuffer[] segments = map(channel, FileChannel.MapMode.READ_WRITE, bytes);
+            return new PackedDigitStore(radix, capacity, segments, header, false);
+        }
+    }
+
+    /**
+     * Opens the digits stored by {@link #create(Path, Radix, long)} for reading.
+     *
+     * @param file The file containing the digits
+     * @return The store, which cannot be written to
+     * @throws IOException If the file could not be mapped or does not contain digits
+     */
+    public static PackedDigitStore open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                throw new IOException("Not a digit store: " + file);
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (header.getInt(0) != MAGIC) {
+                throw new IOException("Not a digit store: " + file);
+            }
+            Radix radix;
+            try {
+                radix = Radix.of(header.getInt(RADIX_OFFSET));
+            } catch (IllegalArgumentException e) {
+                throw new IOException(e.getMessage() + " in " + file, e);
+            }
+            long length = header.getLong(LENGTH_OFFSET);
+            long bytes = channel.size() - HEADER_SIZE;
+            if (length < 0 || (length + 1) / 2 > bytes) {
+                throw new IOException("Truncated digit store: " + file);
+            }
+            PackedDigitStore store = new PackedDigitStore(radix, length, map(channel, FileChannel.MapMode.READ_ONLY, (length + 1) / 2), header, true);
+            store.integerDigits = header.getLong(INTEGER_DIGITS_OFFSET);
+            store.length = length;
+            return store;
+        }
+    }
+
+    public Radix getRadix() {
+        return radix;
+    }
+
+    /**
+     * @return The maximum number of digits
+     */
+    public long getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return The number of digits written so far
+     */
+    public long length() {
+        return length;
+    }
+
+    /**
+     * @return The number of digits in front of the decimal point, or the number of all digits if no decimal point has
+     * been written
+     */
+    public long getIntegerDigits() {
+        long digits = integerDigits;
+        return digits < 0 ? length : digits;
+    }
+
+    /**
+     * @param position The position of the digit, starting with 0 for the first digit
+     * @return The value of the digit
+     * @throws IndexOutOfBoundsException If the digit has not been written
+     */
+    public int digitAt(long position) {
+        checkRange(position, 1);
+        return nibble(position);
+    }
+
+    /**
+     * @param position The position of the digit, starting with 0 for the first digit
+     * @return The character of the digit, upper case for hexadecimal digits
+     * @throws IndexOutOfBoundsException If the digit has not been written
+     */
+    public char charAt(long position) {
+        checkRange(position, 1);
+        return DIGITS[nibble(position)];
+    }
+
+    /**
+     * Copies the values of a range of digits.
+     *
+     * @param from   The position of the first digit
+     * @param dst    The array the values are copied to
+     * @param offset The index of the first value in the array
+     * @param count  The number of digits
+     * @throws IndexOutOfBoundsException If the range has not been written completely
+     */
+    public void getDigits(long from, byte[] dst, int offset, int count) {
+        checkRange(from, count);
+        for (int i = 0; i < count; i++) {
+            dst[offset + i] = (byte) nibble(from + i);
+        }
+    }
+
+    /**
+     * Copies the characters of a range of digits.
+     *
+     * @param from   The position of the first digit
+     * @param dst    The array the characters are copied to
+     * @param offset The index of the first character in the array
+     * @param count  The number of digits
+     * @throws IndexOutOfBoundsException If the range has not been written completely
+     */
+    public void getChars(long from, char[] dst, int offset, int count) {
+        checkRange(from, count);
+        for (int i = 0; i < count; i++) {
+            dst[offset + i] = DIGITS[nibble(from + i)];
+        }
+    }
+
+    /**
+     * Puts the ASCII characters of a range of digits into the buffer, e.g. to send them to a channel directly.
+     *
+     * @param from  The position of the first digit
+     * @param dst   The buffer the characters are put into, starting at its position
+     * @param count The number of digits
+     * @throws IndexOutOfBoundsException If the range has not been written completely
+     */
+    public void getAscii(long from, ByteBuffer dst, int count) {
+        checkRange(from, count);
+        for (int i = 0; i < count; i++) {
+            dst.put((byte) DIGITS[nibble(from + i)]);
+        }
+    }
+
+    /**
+     * Appends the digits of the chunk. A decimal point is not stored but remembered as the number of integer digits.
+     * Whitespace is ignored, so grouped digits can be stored as well.
+     *
+     * @throws IOException              If the store is read only or its capacity is exceeded
+     * @throws IllegalArgumentException If the chunk contains a character which is not a digit of the radix
+     */
+    @Override
+    public void write(char[] chars, int offset, int length) throws IOException {
+        if (readOnly) {
+            throw new IOException("The digit store is read only");
+        }
+        long position = this.length;
+        for (int i = offset; i < offset + length; i++) {
+            char c = chars[i];
+            if (c == '.') {
+                if (integerDigits >= 0) {
+                    throw new IllegalArgumentException("Duplicate decimal point at digit " + position);
+                }
+                integerDigits = position;
+                if (header != null) {
+                    header.putLong(INTEGER_DIGITS_OFFSET, position);
+                }
+                continue;
+            }
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            int digit = Character.digit(c, radix.getValue());
+            if (digit < 0) {
+                throw new IllegalArgumentException("'" + c + "' is not a digit of radix " + radix.getValue());
+            }
+            if (position == capacity) {
+                this.length = position;
+                throw new IOException("The capacity of " + capacity + " digits is exceeded");
+            }
+            ByteBuffer segment = segments[(int) (position >>> (SEGMENT_SHIFT + 1))];
+            int index = (int) ((position >>> 1) & SEGMENT_MASK);
+            if ((position & 1) == 0) {
+                segment.put(index, (byte) (digit << 4));
+            } else {
+                segment.put(index, (byte) (segment.get(index) | digit));
+            }
+            position++;
+        }
+        // publishes the digits to the readers
+        this.length = position;
+        if (header != null) {
+            header.putLong(LENGTH_OFFSET, position);
+        }
+    }
+
+    /**
+     * Writes the digits of a mapped store to the disk. Does nothing for a store in direct buffers.
+     */
+    public void force() {
+        if (header == null || readOnly) {
+            return;
+        }
+        for (ByteBuffer segment : segments) {
+            ((MappedByteBuffer) segment).force();
+        }
+        ((MappedByteBuffer) header).force();
+    }
+
+    private int nibble(long position) {
+        byte b = segments[(int) (position >>> (SEGMENT_SHIFT + 1))].get((int) ((position >>> 1) & SEGMENT_MASK));
+        return (position & 1) == 0 ? (b >>> 4) & 0xF : b & 0xF;
+    }
+
+    private void checkRange(long from, int count) {
+        long written = length;
+        // from + count could overflow
+        if (from < 0 || count < 0 || from > written - count) {
+            throw new IndexOutOfBoundsException("Digits [" + from + ", " + (from + count) + ") of " + written);
+        }
+    }
+
+    private static void checkCapacity(long capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative");
+        }
+    }
+
+    private static ByteBuffer[] map(FileChannel channel, FileChannel.MapMode mode, long bytes) throws IOException {
+        ByteBuffer[] segments = new ByteBuffer[segmentCount(bytes)];
+        for (int i = 0; i < segments.length; i++) {
+            long start = HEADER_SIZE + ((long) i << SEGMENT_SHIFT);
+            segments[i] = channel.map(mode, start, segmentSize(bytes, i));
+        }
+        return segments;
+    }
+
+    private static int segmentCount(long bytes) {
+        return (int) ((bytes + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+    }
+
+    private static int segmentSize(long bytes, int segment) {
+        return (int) Math.min(bytes - ((long) segment << SEGMENT_SHIFT), 1L << SEGMENT_SHIFT);
+    }
+}
@@ -0,0 +1,320 @@
+package calculator.server;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import calculator.PiCalculator;
+import calculator.output.DecimalConverter;
+import calculator.output.DigitSink;
+import calculator.tools.PrecisionProvider;
+
+/**
+ * A headless HTTP front end for a PI calculator, based on the HTTP server of the JDK.
+ * <pre>
+ * GET /pi?digits=n
+ * </pre>
+ * returns the first n significant digits of PI as plain text. The digits are streamed in chunks as soon as they have
+ * been converted.
+ * <p>
+ * Concurrent requests are coalesced: a request which needs at most as many digits as a calculation in progress waits
+ * for that calculation instead of starting its own. Every new calculation has to be admitted first, which limits the
+ * total number of digits calculated at once. Requests wait for admission for a limited time only, and only a limited
+ * number of requests may wait at all. Requests which are not admitted are answered by 503 Service Unavailable.
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+public class PiServer {
+
+    public static final int DEFAULT_MAX_QUEUED = 64;
+    public static final int DEFAULT_ADMISSION_TIMEOUT = 30000;
+
+    // additional digits calculated for every request, so the truncated result is correct
+    private static final int GUARD_DIGITS = 10;
+
+    private final PiCalculator calculator;
+    private final PrecisionProvider precisionProvider;
+    private final DecimalConverter converter;
+    private final int maxDigits;
+    private final Semaphore admission;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final List<Calculation> calculations = new ArrayList<>();
+    private final HttpServer server;
+    private final ExecutorService handlers;
+
+    private volatile int maxQueued = DEFAULT_MAX_QUEUED;
+    private volatile int admissionTimeout = DEFAULT_ADMISSION_TIMEOUT;
+
+    /**
+     * @param calculator The calculator, which also has to tell the number of iterations for a precision
+     * @param service    The executor the results are converted to decimal digits on
+     * @param maxDigits  The maximum number of digits of a request. The digits calculated at once by all calculations,
+     *                   including their guard digits, are limited to maxDigits plus the guard digits of one calculation.
+     * @param address    The address to listen on
+     * @param <T>        The type of the calculator
+     * @throws IOException If the address could not be bound
+     */
+    public <T extends PiCalculator & PrecisionProvider> PiServer(T calculator, ExecutorService service, int maxDigits,
+                                                                 InetSocketAddress address) throws IOException {
+        if (maxDigits < 1) {
+            throw new IllegalArgumentException("maxDigits must be >= 1");
+        }
+        this.calculator = calculator;
+        this.precisionProvider = calculator;
+        this.converter = new DecimalConverter(service);
+        this.maxDigits = maxDigits;
+        // a single request for maxDigits digits has to be admitted
+        this.admission = new Semaphore(maxDigits + GUARD_DIGITS, true);
+        this.server = HttpServer.create(address, 0);
+        this.handlers = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "pi-server-handler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(handlers);
+        server.createContext("/pi", this::handle);
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * @return The number of requests waiting for the result of a calculation, either their own or a coalesced one
+     */
+    public int getWaitingRequests() {
+        return waiting.get();
+    }
+
+    public int getMaxQueued() {
+        return maxQueued;
+    }
+
+    /**
+     * @param maxQueued The maximum number of requests waiting for admission, further requests are rejected at once
+     */
+    public void setMaxQueued(int maxQueued) {
+        if (maxQueued < 0) {
+            throw new IllegalArgumentException("maxQueued must be >= 0");
+        }
+        this.maxQueued = maxQueued;
+    }
+
+    public int getAdmissionTimeout() {
+        return admissionTimeout;
+    }
+
+    /**
+     * @param admissionTimeout The time in milliseconds a request waits for admission
+     */
+    public void setAdmissionTimeout(int admissionTimeout) {
+        if (admissionTimeout < 0) {
+            throw new IllegalArgumentException("admissionTimeout must be >= 0");
+        }
+        this.admissionTimeout = admissionTimeout;
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Stops the server. Calculations in progress are not cancelled.
+     *
+     * @param delay The maximum time in seconds to wait for running exchanges to finish
+     */
+    public void stop(int delay) {
+        server.stop(delay);
+        handlers.shutdown();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "GET");
+                sendError(exchange, 405, "Only GET is supported");
+                return;
+            }
+            int digits;
+            try {
+                digits = parseDigits(exchange.getRequestURI());
+            } catch (IllegalArgumentException e) {
+                sendError(exchange, 400, e.getMessage());
+                return;
+            }
+            CompletableFuture<BigDecimal> future = calculationFor(digits);
+            if (future == null) {
+                exchange.getResponseHeaders().set("Retry-After", String.valueOf(Math.max(1, admissionTimeout / 1000)));
+                sendError(exchange, 503, "Too many digits are being calculated, try again later");
+                return;
+            }
+            BigDecimal pi;
+            waiting.incrementAndGet();
+            try {
+                pi = future.get().round(new MathContext(digits, RoundingMode.DOWN));
+            } catch (ExecutionException e) {
+                sendError(exchange, 500, "Calculation failed: " + e.getCause());
+                return;
+            } finally {
+                waiting.decrementAndGet();
+            }
+            stream(exchange, pi);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            sendError(exchange, 503, "Server is shutting down");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private int parseDigits(URI uri) {
+        String query = uri.getRawQuery();
+        if (query != null) {
+            for (String parameter : query.split("&")) {
+                if (parameter.startsWith("digits=")) {
+                    int digits;
+                    try {
+                        digits = Integer.parseInt(parameter.substring("digits=".length()));
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("digits must be a number");
+                    }
+                    if (digits < 1 || digits > maxDigits) {
+                        throw new IllegalArgumentException("digits must be between 1 and " + maxDigits);
+                    }
+                    return digits;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Missing parameter digits");
+    }
+
+    /**
+     * Returns a calculation in progress which calculates enough digits, or starts a new one once it has been admitted.
+     *
+     * @param digits The number of digits
+     * @return The result of the calculation, or null if the calculation has not been admitted
+     */
+    private CompletableFuture<BigDecimal> calculationFor(int digits) throws InterruptedException {
+        CompletableFuture<BigDecimal> running = findCalculation(digits);
+        if (running != null) {
+            return running;
+        }
+        if (queued.incrementAndGet() > maxQueued + 1) {
+            queued.decrementAndGet();
+            return null;
+        }
+        // the guard digits are calculated as well, so they are admitted too
+        int precision = digits + GUARD_DIGITS;
+        boolean admitted;
+        try {
+            admitted = admission.tryAcquire(precision, admissionTimeout, TimeUnit.MILLISECONDS);
+        } finally {
+            queued.decrementAndGet();
+        }
+        if (!admitted) {
+            // a matching calculation might have been started in the meantime
+            return findCalculation(digits);
+        }
+        Calculation calculation;
+        synchronized (calculations) {
+            running = findCalculation(digits);
+            if (running != null) {
+                admission.release(precision);
+                return running;
+            }
+            calculation = new Calculation(digits);
+            calculations.add(calculation);
+        }
+        MathContext context = new MathContext(precision, RoundingMode.DOWN);
+        try {
+            calculator.calculateAsync(precisionProvider.getNumIterations(precision), context)
+                      .whenComplete((result, throwable) -> {
+                          synchronized (calculations) {
+                              calculations.remove(calculation);
+                          }
+                          admission.release(precision);
+                          if (throwable != null) {
+                              calculation.future.completeExceptionally(throwable);
+                          } else {
+                              calculation.future.complete(result);
+                          }
+                      });
+        } catch (RuntimeException e) {
+            synchronized (calculations) {
+                calculations.remove(calculation);
+            }
+            admission.release(precision);
+            calculation.future.completeExceptionally(e);
+        }
+        return calculation.future;
+    }
+
+    private CompletableFuture<BigDecimal> findCalculation(int digits) {
+        synchronized (calculations) {
+            for (Calculation calculation : calculations) {
+                if (calculation.digits >= digits) {
+                    return calculation.future;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Streams the digits with chunked transfer encoding.
+     */
+    private void stream(HttpExchange exchange, BigDecimal pi) throws IOException, InterruptedException {
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=US-ASCII");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream body = exchange.getResponseBody();
+             Writer writer = new BufferedWriter(new OutputStreamWriter(body, StandardCharsets.US_ASCII))) {
+            try {
+                converter.writeAsync(pi, DigitSink.of(writer)).get();
+            } catch (ExecutionException e) {
+                // the status has already been sent, so the client can only notice the aborted stream
+                throw new IOException("Conversion failed", e.getCause());
+            }
+        }
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        byte[] body = (message + "\n").getBytes(StandardCharsets.US_ASCII);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=US-ASCII");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static final class Calculation {
+
+        private final int digits;
+        private final CompletableFuture<BigDecimal> future = new CompletableFuture<>();
+
+        private Calculation(int digits) {
+            this.digits = digits;
+        }
+    }
+}
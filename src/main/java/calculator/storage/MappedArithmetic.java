@@ -0,0 +1,154 @@
+package calculator.storage;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.IntBuffer;
+
+import calculator.multiplication.Multiplier;
+
+/**
+ * Arithmetic on {@link MappedInteger}s. Only a bounded number of words is held on the heap at any time: products are
+ * calculated blockwise, i.e. the operands are split into blocks of a fixed number of words, each pair of blocks is
+ * multiplied on the heap by the given {@link Multiplier} and the partial product is added into the mapped result.
+ * Additions stream over the mapped words directly.
+ * <p>
+ * The blockwise multiplication needs (n / blockWords)^2 block products, so the block size should be as large as the
+ * heap allows. Operands below the block size are multiplied with a single block product.
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+public class MappedArithmetic {
+
+    // 16 MiB per block
+    public static final int DEFAULT_BLOCK_WORDS = 1 << 22;
+
+    private final MappedStorage storage;
+    private final Multiplier multiplier;
+    private final int blockWords;
+
+    public MappedArithmetic(MappedStorage storage, Multiplier multiplier) {
+        this(storage, multiplier, DEFAULT_BLOCK_WORDS);
+    }
+
+    /**
+     * @param storage    The storage the results are created in
+     * @param multiplier The multiplier used for the block products
+     * @param blockWords The number of 32 bit words of a single block
+     */
+    public MappedArithmetic(MappedStorage storage, Multiplier multiplier, int blockWords) {
+        if (blockWords < 1) {
+            throw new IllegalArgumentException("blockWords must be >= 1");
+        }
+        this.storage = storage;
+        this.multiplier = multiplier;
+        this.blockWords = blockWords;
+    }
+
+    /**
+     * Multiplies two integers blockwise.
+     *
+     * @param a The first factor
+     * @param b The second factor
+     * @return The product a * b
+     * @throws IOException If the result could not be mapped
+     */
+    public MappedInteger multiply(MappedInteger a, MappedInteger b) throws IOException {
+        if (a.signum() == 0 || b.signum() == 0) {
+            return storage.store(BigInteger.ZERO);
+        }
+        long capacity = a.wordLength() + b.wordLength();
+        IntBuffer[] result = storage.map(capacity);
+        for (long i = 0; i < a.wordLength(); i += blockWords) {
+            BigInteger blockA = a.slice(i, blockWords);
+            if (blockA.signum() == 0) {
+                continue;
+            }
+            for (long j = 0; j < b.wordLength(); j += blockWords) {
+                BigInteger blockB = b.slice(j, blockWords);
+                if (blockB.signum() != 0) {
+                    addInto(result, i + j, multiplier.multiply(blockA, blockB));
+                }
+            }
+        }
+        return new MappedInteger(a.signum() * b.signum(), result, capacity);
+    }
+
+    /**
+     * Adds two integers.
+     *
+     * @param a The first summand
+     * @param b The second summand
+     * @return The sum a + b
+     * @throws IOException If the result could not be mapped
+     */
+    public MappedInteger add(MappedInteger a, MappedInteger b) throws IOException {
+        if (a.signum() == 0) {
+            return b;
+        }
+        if (b.signum() == 0) {
+            return a;
+        }
+        if (a.signum() == b.signum()) {
+            long capacity = Math.max(a.wordLength(), b.wordLength()) + 1;
+            IntBuffer[] result = storage.map(capacity);
+            long carry = 0;
+            for (long i = 0; i < capacity; i++) {
+                long sum = MappedInteger.unsigned(a.word(i)) + MappedInteger.unsigned(b.word(i)) + carry;
+                MappedInteger.writeWord(result, i, (int) sum);
+                carry = sum >>> Integer.SIZE;
+            }
+            return new MappedInteger(a.signum(), result, capacity);
+        }
+        int comparison = compareMagnitude(a, b);
+        if (comparison == 0) {
+            return storage.store(BigInteger.ZERO);
+        }
+        MappedInteger larger = comparison > 0 ? a : b;
+        MappedInteger smaller = comparison > 0 ? b : a;
+        long capacity = larger.wordLength();
+        IntBuffer[] result = storage.map(capacity);
+        long borrow = 0;
+        for (long i = 0; i < capacity; i++) {
+            long difference = MappedInteger.unsigned(larger.word(i)) - MappedInteger.unsigned(smaller.word(i)) - borrow;
+            MappedInteger.writeWord(result, i, (int) difference);
+            borrow = difference < 0 ? 1 : 0;
+        }
+        return new MappedInteger(larger.signum(), result, capacity);
+    }
+
+    private static int compareMagnitude(MappedInteger a, MappedInteger b) {
+        if (a.wordLength() != b.wordLength()) {
+            return Long.compare(a.wordLength(), b.wordLength());
+        }
+        for (long i = a.wordLength() - 1; i >= 0; i--) {
+            int comparison = Integer.compareUnsigned(a.word(i), b.word(i));
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Adds a non-negative value into the mapped words, starting at the given word offset. The words have to be large
+     * enough to hold the sum.
+     */
+    private static void addInto(IntBuffer[] result, long offset, BigInteger value) {
+        int[] words = MappedInteger.words(value);
+        int[] current = new int[words.length];
+        MappedInteger.readWords(result, offset, current, 0, words.length);
+        long carry = 0;
+        for (int i = 0; i < words.length; i++) {
+            long sum = MappedInteger.unsigned(current[i]) + MappedInteger.unsigned(words[i]) + carry;
+            current[i] = (int) sum;
+            carry = sum >>> Integer.SIZE;
+        }
+        MappedInteger.writeWords(result, offset, current, 0, words.length);
+        for (long i = offset + words.length; carry != 0; i++) {
+            long sum = MappedInteger.unsigned(MappedInteger.readWord(result, i)) + carry;
+            MappedInteger.writeWord(result, i, (int) sum);
+            carry = sum >>> Integer.SIZE;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package calculator.storage;
+
+import java.math.BigInteger;
+import java.nio.IntBuffer;
+
+/**
+ * An immutable integer whose magnitude is stored in memory mapped files instead of the Java heap. The magnitude is
+ * stored as little endian sequence of 32 bit words, which is split into segments of 2^26 words, since a single mapping
+ * cannot exceed 2 GiB. The operating system pages the words in and out as required, so the size of an integer is only
+ * limited by the available disk space.
+ * <p>
+ * Arithmetic is done by {@link MappedArithmetic}. Parts of the number can be copied to the heap using
+ * {@link #slice(long, int)} and {@link #truncate(long)}.
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+public final class MappedInteger {
+
+    static final int SEGMENT_SHIFT = 26;
+    static final int SEGMENT_MASK = (1 << SEGMENT_SHIFT) - 1;
+
+    private static final long WORD_MASK = 0xFFFFFFFFL;
+
+    private final int signum;
+    private final long length;
+    private final IntBuffer[] segments;
+
+    /**
+     * @param signum   The sign of the integer
+     * @param segments The segments containing the magnitude
+     * @param capacity The number of words in the segments. Leading zero words are ignored.
+     */
+    MappedInteger(int signum, IntBuffer[] segments, long capacity) {
+        long length = capacity;
+        while (length > 0 && readWord(segments, length - 1) == 0) {
+            length--;
+        }
+        this.signum = length == 0 ? 0 : signum;
+        this.length = length;
+        this.segments = segments;
+    }
+
+    /**
+     * @return -1, 0 or 1 as the value of this integer is negative, zero or positive
+     */
+    public int signum() {
+        return signum;
+    }
+
+    /**
+     * @return The number of 32 bit words of the magnitude, without leading zero words
+     */
+    public long wordLength() {
+        return length;
+    }
+
+    /**
+     * @return The number of bits of the magnitude
+     */
+    public long bitLength() {
+        if (length == 0) {
+            return 0;
+        }
+        return length * Integer.SIZE - Integer.numberOfLeadingZeros(word(length - 1));
+    }
+
+    /**
+     * @param index The index of the word, starting with the least significant word
+     * @return The word of the magnitude at the given index, 0 beyond the length
+     */
+    public int word(long index) {
+        if (index >= length) {
+            return 0;
+        }
+        return readWord(segments, index);
+    }
+
+    /**
+     * Copies a part of the magnitude to the heap.
+     *
+     * @param from  The index of the least significant word of the part
+     * @param count The number of words
+     * @return The non-negative value of the words [from, from + count) of the magnitude
+     */
+    public BigInteger slice(long from, int count) {
+        if (from < 0 || count < 0) {
+            throw new IllegalArgumentException("Invalid slice [" + from + ", " + from + " + " + count + ")");
+        }
+        int available = (int) Math.max(0, Math.min(count, length - from));
+        int[] words = new int[available];
+        readWords(segments, from, words, 0, available);
+        return fromWords(words);
+    }
+
+    /**
+     * Copies this integer without its lowest bits to the heap. This is used to read only the leading bits of an integer
+     * which is too large for the heap.
+     *
+     * @param bits The number of bits to remove. (>=0)
+     * @return This value divided by 2^bits, rounded toward zero
+     */
+    public BigInteger truncate(long bits) {
+        if (bits < 0) {
+            throw new IllegalArgumentException("bits must be >= 0");
+        }
+        long from = bits / Integer.SIZE;
+        long count = length - from;
+        if (count <= 0) {
+            return BigInteger.ZERO;
+        }
+        if (count > Integer.MAX_VALUE / Integer.SIZE) {
+            throw new ArithmeticException("Result does not fit into a BigInteger");
+        }
+        BigInteger magnitude = slice(from, (int) count).shiftRight((int) (bits % Integer.SIZE));
+        return signum < 0 ? magnitude.negate() : magnitude;
+    }
+
+    /**
+     * Copies this integer to the heap.
+     *
+     * @return The value of this integer
+     */
+    public BigInteger toBigInteger() {
+        return truncate(0);
+    }
+
+    static int readWord(IntBuffer[] segments, long index) {
+        return segments[(int) (index >>> SEGMENT_SHIFT)].get((int) (index & SEGMENT_MASK));
+    }
+
+    static void writeWord(IntBuffer[] segments, long index, int value) {
+        segments[(int) (index >>> SEGMENT_SHIFT)].put((int) (index & SEGMENT_MASK), value);
+    }
+
+    static void readWords(IntBuffer[] segments, long from, int[] destination, int offset, int count) {
+        while (count > 0) {
+            IntBuffer segment = segments[(int) (from >>> SEGMENT_SHIFT)].duplicate();
+            int position = (int) (from & SEGMENT_MASK);
+            int chunk = Math.min(count, segment.limit() - position);
+            segment.position(position);
+            segment.get(destination, offset, chunk);
+            from += chunk;
+            offset += chunk;
+            count -= chunk;
+        }
+    }
+
+    static void writeWords(IntBuffer[] segments, long from, int[] source, int offset, int count) {
+        while (count > 0) {
+            IntBuffer segment = segments[(int) (from >>> SEGMENT_SHIFT)].duplicate();
+            int position = (int) (from & SEGMENT_MASK);
+            int chunk = Math.min(count, segment.limit() - position);
+            segment.position(position);
+            segment.put(source, offset, chunk);
+            from += chunk;
+            offset += chunk;
+            count -= chunk;
+        }
+    }
+
+    /**
+     * @param value A non-negative integer
+     * @return The little endian 32 bit words of the value, without leading zero words
+     */
+    static int[] words(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        int[] words = new int[(value.bitLength() + Integer.SIZE - 1) / Integer.SIZE];
+        for (int i = 0; i < words.length; i++) {
+            int end = bytes.length - i * Integer.BYTES;
+            int word = 0;
+            for (int j = Math.max(0, end - Integer.BYTES); j < end; j++) {
+                word = (word << Byte.SIZE) | (bytes[j] & 0xFF);
+            }
+            words[i] = word;
+        }
+        return words;
+    }
+
+    /**
+     * @param words Little endian 32 bit words
+     * @return The non-negative value of the words
+     */
+    static BigInteger fromWords(int[] words) {
+        byte[] bytes = new byte[words.length * Integer.BYTES];
+        for (int i = 0; i < words.length; i++) {
+            int word = words[i];
+            int position = bytes.length - (i + 1) * Integer.BYTES;
+            bytes[position] = (byte) (word >>> 24);
+            bytes[position + 1] = (byte) (word >>> 16);
+            bytes[position + 2] = (byte) (word >>> 8);
+            bytes[position + 3] = (byte) word;
+        }
+        return new BigInteger(1, bytes);
+    }
+
+    static long unsigned(int word) {
+        return word & WORD_MASK;
+    }
+}
@@ -0,0 +1,77 @@
+package calculator.storage;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Creates the memory mapped files backing {@link MappedInteger}s. Every integer is stored in its own temporary file
+ * inside the storage directory. The file is deleted as soon as it has been mapped, so its disk space is released
+ * automatically once the mapping has been garbage collected (on Linux and other POSIX systems, an unlinked file stays
+ * accessible through its existing mappings).
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+public class MappedStorage {
+
+    private final Path directory;
+
+    /**
+     * @param directory The directory the temporary files are created in. This should be located on a local disk with
+     *                  enough free space for the largest intermediate results.
+     */
+    public MappedStorage(Path directory) {
+        if (!Files.isDirectory(directory)) {
+            throw new IllegalArgumentException("Not a directory: " + directory);
+        }
+        this.directory = directory;
+    }
+
+    /**
+     * Copies an integer from the heap into a memory mapped file.
+     *
+     * @param value The integer to store
+     * @return The stored integer
+     * @throws IOException If the file could not be created or mapped
+     */
+    public MappedInteger store(BigInteger value) throws IOException {
+        int[] words = MappedInteger.words(value.abs());
+        IntBuffer[] segments = map(words.length);
+        MappedInteger.writeWords(segments, 0, words, 0, words.length);
+        return new MappedInteger(value.signum(), segments, words.length);
+    }
+
+    /**
+     * Maps a new zero filled file with room for the given number of 32 bit words.
+     *
+     * @param words The number of words
+     * @return The segments of the mapped file, see {@link MappedInteger#SEGMENT_SHIFT}
+     * @throws IOException If the file could not be created or mapped
+     */
+    IntBuffer[] map(long words) throws IOException {
+        int segmentCount = (int) ((words + MappedInteger.SEGMENT_MASK) >>> MappedInteger.SEGMENT_SHIFT);
+        IntBuffer[] segments = new IntBuffer[segmentCount];
+        if (segmentCount == 0) {
+            return segments;
+        }
+        Path file = Files.createTempFile(directory, "integer", ".bin");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            for (int i = 0; i < segmentCount; i++) {
+                long start = (long) i << MappedInteger.SEGMENT_SHIFT;
+                long size = Math.min(words - start, 1L << MappedInteger.SEGMENT_SHIFT);
+                segments[i] = channel.map(FileChannel.MapMode.READ_WRITE, start * Integer.BYTES, size * Integer.BYTES)
+                                     .order(ByteOrder.LITTLE_ENDIAN)
+                                     .asIntBuffer();
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        return segments;
+    }
+}
@@ -0,0 +1,67 @@
+package calculator.tools;
+
+import java.math.BigInteger;
+
+import calculator.multiplication.Multiplier;
+
+/**
+ * A divisor prepared for repeated divisions. The reciprocal of the divisor is calculated once by the Newton-Raphson
+ * iteration, afterwards every division only costs two multiplications (Barrett reduction). More information:
+ * https://en.wikipedia.org/wiki/Barrett_reduction
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+public class BarrettDivisor {
+
+    private final BigInteger divisor;
+    private final Multiplier multiplier;
+    private final int bits;
+    // about 2^(2 * bits) / divisor
+    private final BigInteger reciprocal;
+
+    /**
+     * @param divisor    The divisor (>0)
+     * @param multiplier The multiplier used for the reciprocal and the divisions
+     */
+    public BarrettDivisor(BigInteger divisor, Multiplier multiplier) {
+        if (divisor.signum() <= 0) {
+            throw new IllegalArgumentException("divisor must be > 0");
+        }
+        this.divisor = divisor;
+        this.multiplier = multiplier;
+        this.bits = divisor.bitLength();
+        // divisor = normalized * 2^(bits - 1) with normalized in [1, 2)
+        BigInteger normalized = divisor.shiftLeft(2);
+        this.reciprocal = NewtonRaphson.reciprocal(normalized, bits + 1, multiplier);
+    }
+
+    public BigInteger getDivisor() {
+        return divisor;
+    }
+
+    /**
+     * Divides the given value by the divisor. Values up to the square of the divisor are divided by Barrett reduction,
+     * larger values are divided by {@link BigInteger#divideAndRemainder(BigInteger)}.
+     *
+     * @param value The dividend (>=0)
+     * @return An array containing the quotient and the remainder
+     */
+    public BigInteger[] divideAndRemainder(BigInteger value) {
+        if (value.signum() < 0 || value.bitLength() > 2 * bits) {
+            return value.divideAndRemainder(divisor);
+        }
+        BigInteger quotient = multiplier.multiply(value.shiftRight(bits - 1), reciprocal).shiftRight(bits + 1);
+        BigInteger remainder = value.subtract(multiplier.multiply(quotient, divisor));
+        // the estimated quotient is off by a few units at most
+        while (remainder.signum() < 0) {
+            remainder = remainder.add(divisor);
+            quotient = quotient.subtract(BigInteger.ONE);
+        }
+        while (remainder.compareTo(divisor) >= 0) {
+            remainder = remainder.subtract(divisor);
+            quotient = quotient.add(BigInteger.ONE);
+        }
+        return new BigInteger[]{quotient, remainder};
+    }
+}
@@ -0,0 +1,89 @@
+package calculator.tools;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * The cancellation token of a single calculation. All tasks of the calculation are scheduled through this executor,
+ * which forwards them to the shared executor. Once the calculation has been cancelled, no new tasks are forwarded and
+ * tasks which are still queued do nothing when they are run, so the capacity of the shared executor is freed
+ * immediately. Tasks which are already running can check {@link #throwIfCancelled()} at suitable points.
+ * <p>
+ * The futures of skipped tasks are never completed. This is fine, since the only future visible to the caller is the
+ * one returned by {@link #bind(CompletableFuture)}, which has been cancelled.
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+public class CancellableExecutor implements Executor {
+
+    private final Executor executor;
+    private volatile boolean cancelled;
+
+    /**
+     * @param executor The shared executor the tasks are forwarded to
+     */
+    public CancellableExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (cancelled) {
+            return;
+        }
+        executor.execute(() -> {
+            if (!cancelled) {
+                command.run();
+            }
+        });
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Cancels the calculation. No further tasks are run.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Aborts a running task if the calculation has been cancelled.
+     *
+     * @throws CancellationException If the calculation has been cancelled
+     */
+    public void throwIfCancelled() {
+        if (cancelled) {
+            throw new CancellationException();
+        }
+    }
+
+    /**
+     * Returns a future which completes with the result of the calculation. Cancelling the returned future cancels the
+     * calculation.
+     *
+     * @param calculation The future of the calculation
+     * @param <T>         The type of the result
+     * @return A CompletableFuture, containing the result of the calculation
+     */
+    public <T> CompletableFuture<T> bind(CompletableFuture<T> calculation) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        calculation.whenComplete((value, throwable) -> {
+            if (throwable != null) {
+                result.completeExceptionally(throwable);
+            } else {
+                result.complete(value);
+            }
+        });
+        result.whenComplete((value, throwable) -> {
+            if (result.isCancelled()) {
+                cancel();
+            }
+        });
+        return result;
+    }
+}
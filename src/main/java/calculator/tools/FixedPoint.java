@@ -0,0 +1,65 @@
+package calculator.tools;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+
+import calculator.multiplication.Multiplier;
+
+/**
+ * Helper methods for binary fixed point numbers. A fixed point number is stored as a BigInteger x with a number of
+ * fraction bits b and represents the value x / 2^b.
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+public final class FixedPoint {
+
+    private static final double LOG2_10 = Math.log(10) / Math.log(2);
+    private static final double LOG10_2 = Math.log(2) / Math.log(10);
+    // additional bits, so truncation errors of the fixed point arithmetic do not show up in the result
+    private static final int GUARD_BITS = 64;
+    // additional digits of the decimal conversion, so the truncation error does not show up in the result
+    private static final int GUARD_DIGITS = 5;
+
+    private FixedPoint() {
+    }
+
+    /**
+     * Returns the number of fraction bits which are required to represent a number with the given amount of decimal
+     * digits, including some guard bits.
+     *
+     * @param context The mathematical context of the desired result
+     * @return The number of fraction bits
+     */
+    public static int fractionBits(MathContext context) {
+        if (context.getPrecision() == 0) {
+            throw new IllegalArgumentException("Unlimited precision is not supported");
+        }
+        return (int) Math.ceil(context.getPrecision() * LOG2_10) + GUARD_BITS;
+    }
+
+    /**
+     * Converts a fixed point number into a decimal number. The number is multiplied by a power of ten which is just
+     * large enough to cover the precision of the context, and then truncated. The truncation error is below the guard
+     * digits, so it does not show up after the context has been applied.
+     *
+     * @param value        The fixed point number
+     * @param fractionBits The number of fraction bits of the number
+     * @param context      The mathematical context that will be applied to the result
+     * @param multiplier   The multiplier used for the conversion
+     * @return The value as BigDecimal
+     */
+    public static BigDecimal toBigDecimal(BigInteger value, int fractionBits, MathContext context, Multiplier multiplier) {
+        if (fractionBits <= 0) {
+            return new BigDecimal(value.shiftLeft(-fractionBits)).round(context);
+        }
+        int magnitude = (int) Math.floor((value.abs().bitLength() - fractionBits) * LOG10_2);
+        int scale = context.getPrecision() + GUARD_DIGITS - magnitude;
+        if (scale <= 0) {
+            return new BigDecimal(value.shiftRight(fractionBits)).round(context);
+        }
+        BigInteger scaled = multiplier.multiply(value, multiplier.pow(BigInteger.TEN, scale)).shiftRight(fractionBits);
+        return new BigDecimal(scaled, scale).round(context);
+    }
+}
@@ -0,0 +1,146 @@
+package calculator.tools;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+
+import calculator.multiplication.Multiplier;
+
+/**
+ * Division and square root for very high precisions, based on the Newton-Raphson iteration. The reciprocal 1 / d and
+ * the inverse square root 1 / sqrt(a) are calculated in binary fixed point using multiplications only. Each step of
+ * the iteration doubles the number of correct bits, so the whole calculation costs about as much as a few
+ * multiplications at the full precision. The results are correct to within one unit in the last place of the context.
+ * Below the thresholds, the methods of {@link BigDecimal} are used, since they are faster for small numbers. More
+ * information: https://en.wikipedia.org/wiki/Division_algorithm#Newton%E2%80%93Raphson_division
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+public final class NewtonRaphson {
+
+    /**
+     * Precision in digits from which on the square root is calculated by the Newton-Raphson iteration.
+     */
+    public static final int SQRT_THRESHOLD = 1000;
+    /**
+     * Precision in digits from which on the quotient is calculated by the Newton-Raphson iteration.
+     */
+    public static final int DIVISION_THRESHOLD = 50000;
+
+    // precision in bits up to which the initial approximation is calculated in double precision
+    private static final int DOUBLE_PRECISION = 48;
+    // additional bits per step, so the truncation errors do not accumulate
+    private static final int GUARD_BITS = 16;
+
+    private NewtonRaphson() {
+    }
+
+    /**
+     * Calculates the quotient of two decimal numbers.
+     *
+     * @param dividend   The dividend
+     * @param divisor    The divisor
+     * @param context    The mathematical context that will be applied to the result
+     * @param multiplier The multiplier used by the iteration
+     * @return dividend / divisor
+     */
+    public static BigDecimal divide(BigDecimal dividend, BigDecimal divisor, MathContext context, Multiplier multiplier) {
+        if (divisor.signum() == 0) {
+            throw new ArithmeticException("Division by zero");
+        }
+        if (context.getPrecision() < DIVISION_THRESHOLD || dividend.signum() == 0) {
+            return dividend.divide(divisor, context);
+        }
+        int bits = FixedPoint.fractionBits(context);
+        BigInteger d = divisor.unscaledValue().abs();
+        int exponent = d.bitLength() - 1;
+        // d = dNormalized * 2^exponent with dNormalized in [1, 2)
+        BigInteger reciprocal = reciprocal(shift(d, bits - exponent), bits, multiplier);
+
+        BigInteger a = dividend.unscaledValue().abs();
+        int truncated = Math.max(0, a.bitLength() - bits);
+        BigInteger quotient = multiplier.multiply(a.shiftRight(truncated), reciprocal);
+        // dividend / divisor = quotient * 2^(truncated - bits - exponent) * 10^(divisor.scale - dividend.scale)
+        BigDecimal result = FixedPoint.toBigDecimal(quotient, bits + exponent - truncated, context, multiplier)
+                                      .scaleByPowerOfTen(divisor.scale() - dividend.scale());
+        return dividend.signum() == divisor.signum() ? result : result.negate();
+    }
+
+    /**
+     * Calculates the square root of a decimal number.
+     *
+     * @param value      The radicand (>=0)
+     * @param context    The mathematical context that will be applied to the result
+     * @param multiplier The multiplier used by the iteration
+     * @return sqrt(value)
+     */
+    public static BigDecimal sqrt(BigDecimal value, MathContext context, Multiplier multiplier) {
+        if (value.signum() < 0) {
+            throw new ArithmeticException("Square root of a negative number");
+        }
+        if (context.getPrecision() < SQRT_THRESHOLD || value.signum() == 0) {
+            return value.sqrt(context);
+        }
+        int bits = FixedPoint.fractionBits(context);
+        BigInteger a = value.unscaledValue();
+        int scale = value.scale();
+        if ((scale & 1) != 0) {
+            a = a.multiply(BigInteger.TEN);
+            scale++;
+        }
+        int exponent = (a.bitLength() - 1) / 2;
+        // a = aNormalized * 4^exponent with aNormalized in [1, 4)
+        BigInteger aNormalized = shift(a, bits - 2 * exponent);
+        BigInteger inverseSqrt = inverseSqrt(aNormalized, bits, multiplier);
+        BigInteger root = multiplier.multiply(aNormalized, inverseSqrt).shiftRight(bits);
+        // sqrt(value) = root * 2^(exponent - bits) * 10^(-scale / 2)
+        return FixedPoint.toBigDecimal(root, bits - exponent, context, multiplier)
+                         .scaleByPowerOfTen(-scale / 2);
+    }
+
+    /**
+     * Calculates the reciprocal of a fixed point number in [1, 2).
+     *
+     * @param d          The fixed point number with the given amount of fraction bits
+     * @param bits       The number of fraction bits of the argument and the result
+     * @param multiplier The multiplier used by the iteration
+     * @return 1 / d as fixed point number
+     */
+    static BigInteger reciprocal(BigInteger d, int bits, Multiplier multiplier) {
+        if (bits <= DOUBLE_PRECISION) {
+            double value = d.doubleValue() / Math.pow(2, bits);
+            return BigInteger.valueOf((long) (Math.pow(2, bits) / value));
+        }
+        int half = Math.min(bits - 1, bits / 2 + GUARD_BITS);
+        BigInteger y = reciprocal(d.shiftRight(bits - half), half, multiplier).shiftLeft(bits - half);
+        // y' = y + y * (1 - d * y)
+        BigInteger error = BigInteger.ONE.shiftLeft(bits).subtract(multiplier.multiply(d, y).shiftRight(bits));
+        return y.add(multiplier.multiply(y, error).shiftRight(bits));
+    }
+
+    /**
+     * Calculates the inverse square root of a fixed point number in [1, 4).
+     *
+     * @param a          The fixed point number with the given amount of fraction bits
+     * @param bits       The number of fraction bits of the argument and the result
+     * @param multiplier The multiplier used by the iteration
+     * @return 1 / sqrt(a) as fixed point number
+     */
+    static BigInteger inverseSqrt(BigInteger a, int bits, Multiplier multiplier) {
+        if (bits <= DOUBLE_PRECISION) {
+            double value = a.doubleValue() / Math.pow(2, bits);
+            return BigInteger.valueOf((long) (Math.pow(2, bits) / Math.sqrt(value)));
+        }
+        int half = Math.min(bits - 1, bits / 2 + GUARD_BITS);
+        BigInteger y = inverseSqrt(a.shiftRight(bits - half), half, multiplier).shiftLeft(bits - half);
+        // y' = y + y * (1 - a * y^2) / 2
+        BigInteger ySquared = multiplier.square(y).shiftRight(bits);
+        BigInteger error = BigInteger.ONE.shiftLeft(bits).subtract(multiplier.multiply(a, ySquared).shiftRight(bits));
+        return y.add(multiplier.multiply(y, error).shiftRight(bits + 1));
+    }
+
+    private static BigInteger shift(BigInteger value, int n) {
+        return n >= 0 ? value.shiftLeft(n) : value.shiftRight(-n);
+    }
+}
@@ -0,0 +1,118 @@
+package calculator.tools;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.BinaryOperator;
+
+/**
+ * Reduces a list of futures pairwise in the shape of a balanced binary tree. In contrast to a linear reduction (f1 +
+ * f2) + f3 + ..., independent pairs are combined concurrently and the chain of dependent futures only has a depth of
+ * log2(n).
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+public final class TreeReduction {
+
+    private TreeReduction() {
+    }
+
+    /**
+     * Reduces the given futures pairwise. The operator has to be associative, since the order of the operations differs
+     * from a sequential reduction. The order of the operands is kept though.
+     *
+     * @param futures  The futures to reduce
+     * @param operator The associative operator which combines two results
+     * @param identity The result if no futures are given
+     * @param executor The executor on which the operator is applied
+     * @param <T>      The type of the results
+     * @return A CompletableFuture, containing the reduced result
+     */
+    public static <T> CompletableFuture<T> reduce(List<CompletableFuture<T>> futures, BinaryOperator<T> operator, T identity, Executor executor) {
+        if (futures.isEmpty()) {
+            return CompletableFuture.completedFuture(identity);
+        }
+        return reduce(futures, operator, executor);
+    }
+
+    /**
+     * Reduces the given non-empty list of futures pairwise. See {@link #reduce(List, BinaryOperator, Object,
+     * Executor)}.
+     *
+     * @param futures  The futures to reduce
+     * @param operator The associative operator which combines two results
+     * @param executor The executor on which the operator is applied
+     * @param <T>      The type of the results
+     * @return A CompletableFuture, containing the reduced result
+     */
+    public static <T> CompletableFuture<T> reduce(List<CompletableFuture<T>> futures, BinaryOperator<T> operator, Executor executor) {
+        if (futures.isEmpty()) {
+            throw new IllegalArgumentException("At least one future is required");
+        }
+        List<CompletableFuture<T>> level = futures;
+        while (level.size() > 1) {
+            List<CompletableFuture<T>> nextLevel = new ArrayList<>((level.size() + 1) / 2);
+            for (int i = 0; i + 1 < level.size(); i += 2) {
+                nextLevel.add(level.get(i).thenCombineAsync(level.get(i + 1), operator, executor));
+            }
+            if (level.size() % 2 == 1) {
+                nextLevel.add(level.get(level.size() - 1));
+            }
+            level = nextLevel;
+        }
+        return level.get(0);
+    }
+
+    /**
+     * Sums up the given futures pairwise. Every addition is rounded to the given context. If compensation is enabled,
+     * the rounding errors of all additions are accumulated separately (Kahan style) and added back to the result at the
+     * end.
+     *
+     * @param futures     The futures to sum up
+     * @param context     The mathematical context that will be applied to each addition
+     * @param compensated true to compensate the rounding errors of the additions
+     * @param executor    The executor on which the additions are done
+     * @return A CompletableFuture, containing the sum
+     */
+    public static CompletableFuture<BigDecimal> sum(List<CompletableFuture<BigDecimal>> futures, MathContext context, boolean compensated, Executor executor) {
+        if (!compensated) {
+            return reduce(futures, (bigDecimal, bigDecimal2) -> bigDecimal.add(bigDecimal2, context), BigDecimal.ZERO, executor);
+        }
+        List<CompletableFuture<CompensatedSum>> sums = new ArrayList<>(futures.size());
+        futures.forEach(future -> sums.add(future.thenApply(CompensatedSum::new)));
+        return reduce(sums, (sum1, sum2) -> sum1.add(sum2, context), new CompensatedSum(BigDecimal.ZERO), executor)
+                .thenApply(sum -> sum.toBigDecimal(context));
+    }
+
+    /**
+     * A rounded sum, together with the accumulated rounding error of all additions which led to it.
+     */
+    static class CompensatedSum {
+        private final BigDecimal sum;
+        private final BigDecimal error;
+
+        CompensatedSum(BigDecimal sum) {
+            this(sum, BigDecimal.ZERO);
+        }
+
+        CompensatedSum(BigDecimal sum, BigDecimal error) {
+            this.sum = sum;
+            this.error = error;
+        }
+
+        CompensatedSum add(CompensatedSum other, MathContext context) {
+            BigDecimal exact = sum.add(other.sum);
+            BigDecimal rounded = exact.round(context);
+            BigDecimal error = exact.subtract(rounded).add(this.error).add(other.error).round(context);
+            return new CompensatedSum(rounded, error);
+        }
+
+        BigDecimal toBigDecimal(MathContext context) {
+            return sum.add(error, context);
+        }
+    }
+}
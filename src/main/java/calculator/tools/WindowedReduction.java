@@ -0,0 +1,226 @@
+package calculator.tools;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.IntFunction;
+
+/**
+ * Reduces a sequence of tasks while only a bounded number of them is in flight. In contrast to {@link TreeReduction},
+ * the tasks are not created up front: the first tasks fill the window, and every result which is folded into the
+ * running result starts the next task. The results are folded in the order of the tasks, so results which complete
+ * early wait in the window until their predecessors have been folded. Therefore at most window results and tasks exist
+ * at any time, no matter how many tasks are reduced.
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+public final class WindowedReduction {
+
+    /**
+     * The number of tasks in flight per thread if the window is chosen adaptively. More tasks than threads keep the
+     * executor busy while a slow task delays the folding of its successors.
+     */
+    private static final int TASKS_PER_THREAD = 2;
+
+    private WindowedReduction() {
+    }
+
+    /**
+     * @param parallelism The number of threads of the executor
+     * @return The window which keeps all threads busy
+     */
+    public static int adaptiveWindow(int parallelism) {
+        return Math.max(1, TASKS_PER_THREAD * parallelism);
+    }
+
+    /**
+     * Reduces the results of the given tasks in their order.
+     *
+     * @param count    The number of tasks
+     * @param tasks    Creates the task with the given index. Tasks are created in the order of their indices.
+     * @param operator The operator which folds a result into the running result
+     * @param identity The initial running result
+     * @param window   The maximum number of tasks whose results have not been folded yet. (>=1)
+     * @param executor The executor on which the operator is applied
+     * @param <T>      The type of the results
+     * @return A CompletableFuture, containing the reduced result
+     */
+    public static <T> CompletableFuture<T> reduce(int count, IntFunction<CompletableFuture<T>> tasks, BinaryOperator<T> operator,
+                                                  T identity, int window, Executor executor) {
+        return fold(count, tasks, operator, identity, window, executor);
+    }
+
+    /**
+     * Folds the results of the given tasks in their order into a running result of another type. The folding operator
+     * is never applied concurrently, so the running result may be mutable.
+     *
+     * @param count    The number of tasks
+     * @param tasks    Creates the task with the given index. Tasks are created in the order of their indices.
+     * @param operator The operator which folds a result into the running result
+     * @param identity The initial running result
+     * @param window   The maximum number of tasks whose results have not been folded yet. (>=1)
+     * @param executor The executor on which the operator is applied
+     * @param <T>      The type of the results of the tasks
+     * @param <R>      The type of the running result
+     * @return A CompletableFuture, containing the running result after all results have been folded
+     */
+    public static <T, R> CompletableFuture<R> fold(int count, IntFunction<CompletableFuture<T>> tasks, BiFunction<R, ? super T, R> operator,
+                                                   R identity, int window, Executor executor) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Number of tasks cannot be negative");
+        }
+        if (window < 1) {
+            throw new IllegalArgumentException("Window must be >= 1");
+        }
+        return new Window<>(count, tasks, operator, identity, window, executor).start();
+    }
+
+    /**
+     * Sums up the results of the given tasks in their order, see {@link TreeReduction#sum} for the compensation of the
+     * rounding errors.
+     *
+     * @param count       The number of tasks
+     * @param tasks       Creates the task with the given index
+     * @param context     The mathematical context that will be applied to each addition
+     * @param compensated true to compensate the rounding errors of the additions
+     * @param window      The maximum number of tasks whose results have not been added yet. (>=1)
+     * @param executor    The executor on which the additions are done
+     * @return A CompletableFuture, containing the sum
+     */
+    public static CompletableFuture<BigDecimal> sum(int count, IntFunction<CompletableFuture<BigDecimal>> tasks, MathContext context,
+                                                    boolean compensated, int window, Executor executor) {
+        if (!compensated) {
+            return reduce(count, tasks, (bigDecimal, bigDecimal2) -> bigDecimal.add(bigDecimal2, context), BigDecimal.ZERO, window, executor);
+        }
+        return reduce(count, index -> tasks.apply(index).thenApply(TreeReduction.CompensatedSum::new),
+                (sum1, sum2) -> sum1.add(sum2, context), new TreeReduction.CompensatedSum(BigDecimal.ZERO), window, executor)
+                .thenApply(sum -> sum.toBigDecimal(context));
+    }
+
+    /**
+     * The state of a single reduction. The slot of a task is its index modulo the window.
+     */
+    private static class Window<T, R> {
+        private final int count;
+        private final IntFunction<CompletableFuture<T>> tasks;
+        private final BiFunction<R, ? super T, R> operator;
+        private final Executor executor;
+        private final Object[] results;
+        private final CompletableFuture<R> result = new CompletableFuture<>();
+
+        // guarded by this
+        private int folded;
+        private boolean folding;
+        private boolean started;
+        private R accumulator;
+
+        Window(int count, IntFunction<CompletableFuture<T>> tasks, BiFunction<R, ? super T, R> operator, R identity, int window, Executor executor) {
+            this.count = count;
+            this.tasks = tasks;
+            this.operator = operator;
+            this.executor = executor;
+            this.results = new Object[Math.min(window, Math.max(count, 1))];
+            this.accumulator = identity;
+        }
+
+        CompletableFuture<R> start() {
+            if (count == 0) {
+                result.complete(accumulator);
+                return result;
+            }
+            // results of the first window are only folded once all of its tasks have been created, so the tasks are
+            // created one after another: first by the caller, then by the single running fold
+            synchronized (this) {
+                for (int i = 0; i < results.length; i++) {
+                    launch(i);
+                }
+                started = true;
+                if (results[0] == null || folding) {
+                    return result;
+                }
+                folding = true;
+            }
+            try {
+                executor.execute(this::fold);
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+            return result;
+        }
+
+        private void launch(int index) {
+            CompletableFuture<T> task;
+            try {
+                task = tasks.apply(index);
+            } catch (RuntimeException | Error e) {
+                result.completeExceptionally(e);
+                return;
+            }
+            task.whenComplete((value, throwable) -> {
+                if (throwable != null) {
+                    result.completeExceptionally(throwable);
+                } else {
+                    completed(index, value);
+                }
+            });
+        }
+
+        private void completed(int index, T value) {
+            synchronized (this) {
+                results[index % results.length] = value;
+                if (!started || folding || index != folded) {
+                    return;
+                }
+                folding = true;
+            }
+            try {
+                executor.execute(this::fold);
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        }
+
+        /**
+         * Folds the consecutive results which are available. Only one fold runs at a time.
+         */
+        @SuppressWarnings("unchecked")
+        private void fold() {
+            while (!result.isDone()) {
+                T value;
+                int index;
+                synchronized (this) {
+                    int slot = folded % results.length;
+                    if (folded == count || results[slot] == null) {
+                        folding = false;
+                        return;
+                    }
+                    value = (T) results[slot];
+                    results[slot] = null;
+                    index = folded;
+                }
+                R next;
+                try {
+                    next = operator.apply(accumulator, value);
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                    return;
+                }
+                synchronized (this) {
+                    accumulator = next;
+                    folded = index + 1;
+                }
+                if (index + 1 == count) {
+                    result.complete(next);
+                    return;
+                }
+                if (index + results.length < count) {
+                    launch(index + results.length);
+                }
+            }
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package start;
 
 import calculator.impl.BaileyBorweinPlouffeCalculator;
+import calculator.output.DecimalConverter;
+import calculator.output.DigitSink;
 
 import javax.swing.*;
 import java.awt.event.WindowAdapter;
@@ -22,13 +24,16 @@ public class BBPMain {
     private void start() {
         ExecutorService service = Executors.newWorkStealingPool();
         BaileyBorweinPlouffeCalculator calc = new BaileyBorweinPlouffeCalculator(service);
+        calc.setExactAccumulation(true);
 
         JFrame frame = new JFrame();
         frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
 
         MathContext context = new MathContext(100000, RoundingMode.DOWN);
         BigDecimal calculate = calc.calculate(100000, context);
-        System.out.println(calculate);
+        DecimalConverter converter = new DecimalConverter(service);
+        converter.writeAsync(calculate, DigitSink.of(System.out)).join();
+        System.out.println();
 
 
         frame.addWindowListener(new WindowAdapter() {
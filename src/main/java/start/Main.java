@@ -21,12 +21,15 @@ import calculator.PiCalculator;
 import calculator.impl.ChudnovskyCalculator;
 import calculator.listeners.PiCalculatorEventProvider;
 import calculator.listeners.PiCalculatorListener;
+import calculator.output.DecimalConverter;
+import calculator.output.DigitSink;
 import calculator.tools.PrecisionProvider;
 
 public class Main {
 
     private PiCalculator calculator;
     private ExecutorService service;
+    private CompletableFuture<BigDecimal> current;
 
     public static void main(String[] args) {
         Main main = new Main();
@@ -114,24 +117,25 @@ public class Main {
 
                 MathContext context = new MathContext(digits, RoundingMode.HALF_EVEN);
                 CompletableFuture<BigDecimal> future = calculator.calculateAsync(iterations, context);
+                current = future;
                 abortButton.setEnabled(true);
-                future.thenAccept(bigDecimal -> {
-                    String decString = bigDecimal.toString();
-                    label.setText("Result: " + decString);
+                future.thenCompose(bigDecimal -> {
+                    label.setText("Result: " + bigDecimal.round(new MathContext(20)));
                     button.setEnabled(true);
                     abortButton.setEnabled(false);
-                    System.out.println(decString);
-                });
+                    DecimalConverter converter = new DecimalConverter(service);
+                    return converter.writeAsync(bigDecimal, DigitSink.of(System.out));
+                }).thenRun(System.out::println);
             }
         });
 
         abortButton.addActionListener(e -> {
-            // TODO use CompletableFuture::cancel instead
             System.out.println("Aborting...");
-            service.shutdownNow();
+            if (current != null) {
+                current.cancel(true);
+                current = null;
+            }
             abortButton.setEnabled(false);
-            ExecutorService executorService = createExecutorService();
-            calculator.setExecutorService(executorService);
             label.setText("Aborted");
             button.setEnabled(true);
         });
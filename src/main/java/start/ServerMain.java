@@ -0,0 +1,32 @@
+package start;
+
+import calculator.impl.ChudnovskyCalculator;
+import calculator.server.PiServer;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Starts a headless server which calculates PI on request.
+ * <p>
+ * Usage: ServerMain [port [max digits [bind address]]]. The port defaults to 8080, the maximum number of digits
+ * calculated at once to 1000000 and the address to the loopback interface.
+ */
+public class ServerMain {
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        int maxDigits = args.length > 1 ? Integer.parseInt(args[1]) : 1000000;
+        InetAddress address = args.length > 2 ? InetAddress.getByName(args[2]) : InetAddress.getLoopbackAddress();
+
+        ExecutorService service = Executors.newWorkStealingPool();
+        PiServer server = new PiServer(new ChudnovskyCalculator(service), service, maxDigits,
+                new InetSocketAddress(address, port));
+        server.start();
+        System.out.println("Server listening on port " + server.getPort());
+        Thread.currentThread().join();
+    }
+}
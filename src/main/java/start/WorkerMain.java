@@ -0,0 +1,30 @@
+package start;
+
+import calculator.distributed.ChudnovskyWorker;
+import calculator.impl.ChudnovskyCalculator;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Starts a worker process for distributed Chudnovsky calculations.
+ * <p>
+ * Usage: WorkerMain [port [bind address]]. The port defaults to 0 (any free port) and the address to the loopback
+ * interface. The actual port is printed once the worker accepts connections.
+ */
+public class WorkerMain {
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 0;
+        InetAddress address = args.length > 1 ? InetAddress.getByName(args[1]) : InetAddress.getLoopbackAddress();
+
+        ExecutorService service = Executors.newWorkStealingPool();
+        ChudnovskyWorker worker = new ChudnovskyWorker(new ChudnovskyCalculator(service), new InetSocketAddress(address, port));
+        worker.start();
+        System.out.println("Worker listening on port " + worker.getPort());
+        Thread.currentThread().join();
+    }
+}
@@ -0,0 +1,23 @@
+package calculator;
+
+/**
+ * The digits of PI the results of the tests are compared with
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+public final class PiDigits {
+
+    /**
+     * PI with 100 significant decimal digits, truncated
+     */
+    public static final String PI_100 = "3.141592653589793238462643383279502884197169399375105820974944592307816406286208998628034825342117067";
+
+    /**
+     * The first 100 hexadecimal digits after the point of PI
+     */
+    public static final String PI_HEX_100 = "243F6A8885A308D313198A2E03707344A4093822299F31D0082EFA98EC4E6C89452821E638D01377BE5466CF34E90C6CC0AC";
+
+    private PiDigits() {
+    }
+}
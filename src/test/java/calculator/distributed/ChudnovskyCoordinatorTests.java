@@ -0,0 +1,202 @@
+package calculator.distributed;
+
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import calculator.PiDigits;
+import calculator.impl.ChudnovskyCalculator;
+
+/**
+ * Adds test cases for the distributed Chudnovsky calculation
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+public class ChudnovskyCoordinatorTests {
+
+    private static final MathContext CONTEXT = new MathContext(1000);
+
+    private ExecutorService service = Executors.newSingleThreadExecutor();
+    private ChudnovskyCalculator calculator;
+    private ChudnovskyWorker worker;
+    private BigDecimal expected;
+
+    @BeforeEach
+    public void initTests() throws IOException, ExecutionException, InterruptedException {
+        calculator = new ChudnovskyCalculator(service);
+        calculator.setExactAccumulation(true);
+        expected = calculator.calculateAsync(70, CONTEXT).get();
+        worker = new ChudnovskyWorker(new ChudnovskyCalculator(service), 0);
+        worker.start();
+    }
+
+    @AfterEach
+    public void closeWorker() throws IOException {
+        worker.close();
+    }
+
+    @Test
+    public void calculateTest() throws IOException, ExecutionException, InterruptedException {
+        try (ChudnovskyWorker second = new ChudnovskyWorker(new ChudnovskyCalculator(service), 0)) {
+            second.start();
+            ChudnovskyCoordinator coordinator = new ChudnovskyCoordinator(calculator, Arrays.asList(address(worker.getPort()), address(second.getPort())));
+            coordinator.setSegmentSize(7);
+            Assertions.assertEquals(expected, coordinator.calculateAsync(70, CONTEXT).get());
+
+            coordinator.setSegmentSize(100);
+            Assertions.assertEquals(expected, coordinator.calculateAsync(70, CONTEXT).get());
+
+            // the merged sum yields the correct digits, not only the ones of the local exact accumulation
+            coordinator.setSegmentSize(3);
+            Assertions.assertEquals(PiDigits.PI_100, coordinator.calculateAsync(8, new MathContext(100, RoundingMode.DOWN)).get().toPlainString());
+        }
+    }
+
+    @Test
+    public void retryTest() throws IOException, ExecutionException, InterruptedException {
+        // accepts the requests, but drops the connection instead of answering them
+        try (ServerSocket faulty = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            Thread thread = new Thread(() -> {
+                while (true) {
+                    try (Socket socket = faulty.accept()) {
+                        DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+                        DataInputStream in = new DataInputStream(socket.getInputStream());
+                        SegmentProtocol.writeHeader(out);
+                        SegmentProtocol.readHeader(in);
+                        in.readInt();
+                        in.readInt();
+                    } catch (IOException e) {
+                        return;
+                    }
+                }
+            });
+            thread.setDaemon(true);
+            thread.start();
+
+            ChudnovskyCoordinator coordinator = new ChudnovskyCoordinator(calculator, Arrays.asList(address(faulty.getLocalPort()), address(worker.getPort())));
+            coordinator.setSegmentSize(5);
+            coordinator.setReconnectDelay(10);
+            coordinator.setMaxAttempts(10);
+            Assertions.assertEquals(expected, coordinator.calculateAsync(70, CONTEXT).get());
+        }
+    }
+
+    @Test
+    public void invalidResponseTest() throws IOException, ExecutionException, InterruptedException {
+        // answers the requests with a negative numerator length
+        try (ServerSocket faulty = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            Thread thread = new Thread(() -> {
+                while (true) {
+                    try (Socket socket = faulty.accept()) {
+                        DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+                        DataInputStream in = new DataInputStream(socket.getInputStream());
+                        SegmentProtocol.writeHeader(out);
+                        SegmentProtocol.readHeader(in);
+                        out.writeByte(SegmentProtocol.OK);
+                        out.writeInt(in.readInt());
+                        out.writeInt(in.readInt());
+                        out.writeInt(-1);
+                        out.flush();
+                    } catch (IOException e) {
+                        return;
+                    }
+                }
+            });
+            thread.setDaemon(true);
+            thread.start();
+
+            ChudnovskyCoordinator coordinator = new ChudnovskyCoordinator(calculator, Arrays.asList(address(faulty.getLocalPort()), address(worker.getPort())));
+            coordinator.setSegmentSize(5);
+            coordinator.setReconnectDelay(10);
+            coordinator.setMaxAttempts(10);
+            Assertions.assertEquals(expected, coordinator.calculateAsync(70, CONTEXT).get());
+        }
+    }
+
+    @Test
+    public void cancelTest() throws IOException, InterruptedException {
+        // accepts the connection, but never answers
+        try (ServerSocket hung = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            ChudnovskyCoordinator coordinator = new ChudnovskyCoordinator(calculator, Collections.singletonList(address(hung.getLocalPort())));
+            CompletableFuture<BigDecimal> future = coordinator.calculateAsync(70, CONTEXT);
+            try (Socket socket = hung.accept()) {
+                socket.setSoTimeout(5000);
+                DataInputStream in = new DataInputStream(socket.getInputStream());
+                SegmentProtocol.readHeader(in);
+
+                Assertions.assertTrue(future.cancel(true));
+                // the coordinator closes the connection
+                Assertions.assertEquals(-1, in.read());
+            }
+        }
+    }
+
+    @Test
+    public void timeoutTest() throws IOException {
+        try (ServerSocket hung = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            ChudnovskyCoordinator coordinator = new ChudnovskyCoordinator(calculator, Collections.singletonList(address(hung.getLocalPort())));
+            Assertions.assertEquals(ChudnovskyCoordinator.DEFAULT_TIMEOUT, coordinator.getTimeout());
+            coordinator.setTimeout(100);
+            coordinator.setReconnectDelay(10);
+            // a worker which does not answer is lost after the attempts timed out
+            ExecutionException exception = Assertions.assertThrows(ExecutionException.class, () -> coordinator.calculateAsync(70, CONTEXT).get());
+            Assertions.assertTrue(exception.getCause() instanceof IOException);
+        }
+    }
+
+    @Test
+    public void lostWorkersTest() throws IOException {
+        worker.close();
+        ChudnovskyCoordinator coordinator = new ChudnovskyCoordinator(calculator, Collections.singletonList(address(worker.getPort())));
+        coordinator.setReconnectDelay(10);
+        ExecutionException exception = Assertions.assertThrows(ExecutionException.class, () -> coordinator.calculateAsync(70, CONTEXT).get());
+        Assertions.assertTrue(exception.getCause() instanceof IOException);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ChudnovskyCoordinator(calculator, Collections.emptyList()));
+    }
+
+    @Test
+    public void processTest() throws IOException, ExecutionException, InterruptedException {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        Process process = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"), "start.WorkerMain")
+                .redirectErrorStream(true)
+                .start();
+        try {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
+            String line = reader.readLine();
+            Assertions.assertNotNull(line);
+            int port = Integer.parseInt(line.substring(line.lastIndexOf(' ') + 1));
+
+            ChudnovskyCoordinator coordinator = new ChudnovskyCoordinator(calculator, Arrays.asList(address(port), address(worker.getPort())));
+            coordinator.setSegmentSize(3);
+            Assertions.assertEquals(expected, coordinator.calculateAsync(70, CONTEXT).get());
+        } finally {
+            process.destroy();
+        }
+    }
+
+    private static InetSocketAddress address(int port) {
+        return new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+    }
+}
@@ -0,0 +1,61 @@
+package calculator.factorial;
+
+import java.math.BigInteger;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Adds test cases for the PrimeSwingFactorialCalculator
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+public class PrimeSwingFactorialCalculatorTests {
+
+    @Test
+    public void factorialTest() {
+        PrimeSwingFactorialCalculator calculator = new PrimeSwingFactorialCalculator();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> calculator.factorial(-1));
+
+        BigInteger expected = BigInteger.ONE;
+        for (int n = 0; n <= 2000; n++) {
+            if (n > 0) {
+                expected = expected.multiply(BigInteger.valueOf(n));
+            }
+            Assertions.assertEquals(expected, calculator.factorial(n));
+        }
+    }
+
+    @Test
+    public void parallelTest() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            PrimeSwingFactorialCalculator parallel = new PrimeSwingFactorialCalculator(0, pool);
+            PrimeSwingFactorialCalculator sequential = new PrimeSwingFactorialCalculator(0);
+            for (int n : new int[]{10000, 60000, 123457}) {
+                Assertions.assertEquals(sequential.factorial(n), parallel.factorial(n));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void cacheTest() {
+        PrimeSwingFactorialCalculator calculator = new PrimeSwingFactorialCalculator(100000);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new PrimeSwingFactorialCalculator(-1));
+        BigInteger first = calculator.factorial(3000);
+        Assertions.assertTrue(calculator.getCachedBits() > 0);
+        for (int n = 0; n < 30000; n += 1000) {
+            calculator.factorial(n);
+            Assertions.assertTrue(calculator.getCachedBits() <= 100000);
+        }
+        Assertions.assertEquals(first, calculator.factorial(3000));
+
+        calculator.clearCache();
+        Assertions.assertEquals(0, calculator.getCachedBits());
+        Assertions.assertEquals(first, calculator.factorial(3000));
+    }
+}
@@ -0,0 +1,97 @@
+package calculator.impl;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import calculator.PiDigits;
+
+/**
+ * Adds test cases for the BaileyBorweinPlouffeCalculator implementation
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+public class BaileyBorweinPlouffeCalculatorTests {
+
+    private BaileyBorweinPlouffeCalculator calculator;
+    private ExecutorService service = Executors.newWorkStealingPool();
+
+    @BeforeEach
+    public void initTests() {
+        calculator = new BaileyBorweinPlouffeCalculator(service);
+    }
+
+    @Test
+    public void fixedPointTest() {
+        calculator.setExactAccumulation(true);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> calculator.setBatchSize(0));
+
+        MathContext context = new MathContext(100, RoundingMode.DOWN);
+        for (int batchSize : new int[]{1, 7, 256}) {
+            calculator.setBatchSize(batchSize);
+            Assertions.assertEquals(PiDigits.PI_100, calculator.calculate(100, context).toPlainString());
+        }
+    }
+
+    @Test
+    public void termTest() {
+        // the long arithmetic overflows beyond k = 2.7e8, the largest index is Integer.MAX_VALUE
+        for (long k : new long[]{0, 1, 1000, 249_999_999, 250_000_000, 250_000_001, 277_000_000, 800_000_000, Integer.MAX_VALUE}) {
+            BigInteger index = BigInteger.valueOf(k);
+            BigInteger numerator = index.pow(2).multiply(BigInteger.valueOf(120)).add(index.multiply(BigInteger.valueOf(151))).add(BigInteger.valueOf(47));
+            BigInteger denominator = BigInteger.ONE;
+            for (long[] factor : new long[][]{{8, 1}, {2, 1}, {8, 5}, {4, 3}}) {
+                denominator = denominator.multiply(index.multiply(BigInteger.valueOf(factor[0])).add(BigInteger.valueOf(factor[1])));
+            }
+            Assertions.assertEquals(numerator, BaileyBorweinPlouffeCalculator.termNumerator(k));
+            Assertions.assertEquals(denominator, BaileyBorweinPlouffeCalculator.termDenominator(k));
+        }
+    }
+
+    @Test
+    public void streamingSummationTest() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> calculator.setSummationWindow(-1));
+        MathContext context = new MathContext(100, RoundingMode.DOWN);
+        BigDecimal expected = calculator.calculate(100, context);
+        calculator.setStreamingSummation(true);
+
+        for (int window : new int[]{0, 1, 5}) {
+            calculator.setSummationWindow(window);
+            calculator.setExactAccumulation(false);
+            Assertions.assertEquals(expected, calculator.calculate(100, context));
+            calculator.setExactAccumulation(true);
+            calculator.setBatchSize(7);
+            Assertions.assertEquals(PiDigits.PI_100, calculator.calculate(100, context).toPlainString());
+        }
+    }
+
+    @Test
+    public void hexDigitsTest() throws ExecutionException, InterruptedException {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> calculator.hexDigitsAsync(-1, 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> calculator.hexDigitsAsync(0, -1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> calculator.hexDigitsAsync(Long.MAX_VALUE, 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> calculator.hexDigitsAsync(Long.MAX_VALUE - 1, Integer.MAX_VALUE));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> calculator.hexDigitsAsync((1L << 49) - 5, 10));
+
+        Assertions.assertEquals("", calculator.hexDigitsAsync(0, 0).get());
+        Assertions.assertEquals(PiDigits.PI_HEX_100, calculator.hexDigitsAsync(0, 100).get());
+        for (int position = 1; position < 90; position += 7) {
+            Assertions.assertEquals(PiDigits.PI_HEX_100.substring(position, position + 10), calculator.hexDigitsAsync(position, 10).get());
+        }
+    }
+
+    @Test
+    public void farHexDigitsTest() throws ExecutionException, InterruptedException {
+        // the digits starting at the 1000000th digit, see D. H. Bailey, The BBP Algorithm for Pi, 2006
+        Assertions.assertEquals("26C65E52CB4593", calculator.hexDigitsAsync(999999, 14).get());
+    }
+}
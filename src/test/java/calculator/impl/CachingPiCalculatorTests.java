@@ -0,0 +1,137 @@
+package calculator.impl;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Adds test cases for the CachingPiCalculator implementation
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+public class CachingPiCalculatorTests {
+
+    private final AtomicInteger calculations = new AtomicInteger();
+    private ChudnovskyBinarySplittingCalculator calculator;
+    private ExecutorService service = Executors.newWorkStealingPool();
+
+    @BeforeEach
+    public void initTests() {
+        calculations.set(0);
+        calculator = new ChudnovskyBinarySplittingCalculator(service) {
+            @Override
+            public CompletableFuture<BigDecimal> calculateAsync(int iterations, MathContext precision) {
+                calculations.incrementAndGet();
+                return super.calculateAsync(iterations, precision);
+            }
+        };
+    }
+
+    @Test
+    public void reuseTest() {
+        CachingPiCalculator cache = new CachingPiCalculator(calculator, 10000);
+        MathContext context = new MathContext(200);
+        BigDecimal expected = calculator.calculate(20, context);
+        calculations.set(0);
+
+        Assertions.assertEquals(expected, cache.calculate(20, context));
+        Assertions.assertEquals(1, calculations.get());
+
+        // fewer digits and fewer iterations are served from the cache
+        Assertions.assertEquals(expected.round(new MathContext(50, RoundingMode.DOWN)), cache.calculate(15, new MathContext(50, RoundingMode.DOWN)));
+        Assertions.assertEquals(expected.round(new MathContext(100)), cache.calculate(20, new MathContext(100)));
+        Assertions.assertEquals(1, calculations.get());
+
+        // more digits are calculated and replace the cached result
+        Assertions.assertEquals(calculator.calculate(20, new MathContext(300)), cache.calculate(20, new MathContext(300)));
+        Assertions.assertEquals(3, calculations.get());
+        Assertions.assertEquals(310, cache.getCachedDigits());
+    }
+
+    @Test
+    public void evictionTest() {
+        CachingPiCalculator cache = new CachingPiCalculator(calculator, 250);
+        cache.calculate(10, new MathContext(100));
+        cache.calculate(20, new MathContext(50));
+        Assertions.assertEquals(170, cache.getCachedDigits());
+        // evicts the least recently used result
+        cache.calculate(5, new MathContext(150));
+        Assertions.assertEquals(220, cache.getCachedDigits());
+        cache.calculate(20, new MathContext(50));
+        Assertions.assertEquals(3, calculations.get());
+        cache.calculate(10, new MathContext(100));
+        Assertions.assertEquals(4, calculations.get());
+    }
+
+    @Test
+    public void persistenceTest() throws IOException {
+        Path directory = Files.createTempDirectory("cache");
+        try {
+            BigDecimal expected = new CachingPiCalculator(calculator, 10000, directory).calculate(20, new MathContext(200));
+            Assertions.assertEquals(1, calculations.get());
+            // the anonymous calculator is named after its superclass
+            Assertions.assertTrue(Files.exists(directory.resolve("ChudnovskyBinarySplittingCalculator-20-210.txt")));
+
+            // files with unexpected names are skipped
+            Files.write(directory.resolve("ChudnovskyBinarySplittingCalculator-many-300.txt"), new byte[0]);
+            Files.write(directory.resolve("ChudnovskyBinarySplittingCalculator-30-400-2.txt"), new byte[0]);
+            Files.write(directory.resolve("ChudnovskyBinarySplittingCalculator-.txt"), new byte[0]);
+            CachingPiCalculator cache = new CachingPiCalculator(calculator, 10000, directory);
+            Assertions.assertEquals(expected.round(new MathContext(100)), cache.calculate(10, new MathContext(100)));
+            Assertions.assertEquals(1, calculations.get());
+        } finally {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+                for (Path file : files) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    public void concurrentStoreTest() throws IOException {
+        Path directory = Files.createTempDirectory("cache");
+        try {
+            CachingPiCalculator cache = new CachingPiCalculator(calculator, 0, directory);
+            List<CompletableFuture<BigDecimal>> futures = new ArrayList<>();
+            for (int i = 1; i <= 20; i++) {
+                futures.add(cache.calculateAsync(i % 5 + 5, new MathContext(50 + i % 4)));
+            }
+            futures.forEach(CompletableFuture::join);
+
+            // every remaining file is complete, and none of them is dominated by the largest result
+            CachingPiCalculator reader = new CachingPiCalculator(calculator, 0, directory);
+            int before = calculations.get();
+            Assertions.assertEquals(futures.get(18).join(), reader.calculate(9, new MathContext(53)));
+            Assertions.assertEquals(before, calculations.get());
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+                for (Path file : files) {
+                    Assertions.assertEquals("ChudnovskyBinarySplittingCalculator-9-63.txt", file.getFileName().toString());
+                }
+            }
+        } finally {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+                for (Path file : files) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(directory);
+        }
+    }
+}
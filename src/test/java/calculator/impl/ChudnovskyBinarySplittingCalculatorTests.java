@@ -0,0 +1,68 @@
+package calculator.impl;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import calculator.PiDigits;
+import calculator.storage.MappedStorage;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Adds test cases for the ChudnovskyBinarySplittingCalculator implementation
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+public class ChudnovskyBinarySplittingCalculatorTests {
+
+    private ChudnovskyBinarySplittingCalculator calculator;
+    private ExecutorService service = Executors.newWorkStealingPool();
+
+    @BeforeEach
+    public void initTests() {
+        calculator = new ChudnovskyBinarySplittingCalculator(service, 2);
+    }
+
+    @Test
+    public void calculateTest() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> calculator.calculateAsync(-1));
+
+        MathContext context = new MathContext(100, RoundingMode.DOWN);
+        BigDecimal result = calculator.calculate(calculator.getNumIterations(120), context);
+        Assertions.assertEquals(PiDigits.PI_100, result.toPlainString());
+    }
+
+    @Test
+    public void matchesChudnovskyCalculatorTest() {
+        ChudnovskyCalculator reference = new ChudnovskyCalculator(service);
+        MathContext context = new MathContext(500, RoundingMode.DOWN);
+        for (int iterations : new int[]{0, 1, 7, 30}) {
+            BigDecimal expected = reference.calculate(iterations, context).round(new MathContext(480, RoundingMode.DOWN));
+            BigDecimal actual = calculator.calculate(iterations, context).round(new MathContext(480, RoundingMode.DOWN));
+            Assertions.assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void outOfCoreTest() throws IOException {
+        Path directory = Files.createTempDirectory("storage");
+        try {
+            calculator.setStorage(new MappedStorage(directory));
+            // store every range above the leaf threshold
+            calculator.setSpillThreshold(0);
+            MathContext context = new MathContext(100, RoundingMode.DOWN);
+            BigDecimal result = calculator.calculate(calculator.getNumIterations(120), context);
+            Assertions.assertEquals(PiDigits.PI_100, result.toPlainString());
+        } finally {
+            Files.delete(directory);
+        }
+    }
+}
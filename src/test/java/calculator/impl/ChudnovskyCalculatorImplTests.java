@@ -1,12 +1,34 @@
 package calculator.impl;
 
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import calculator.PiDigits;
+import calculator.factorial.PrimeSwingFactorialCalculator;
+import calculator.listeners.ChudnovskyCalculatorAdapter;
+import calculator.listeners.data.ConstantCalculationResult;
+import calculator.listeners.data.NominatorCalculationResult;
+
 /**
  * Adds test cases for the ChudnovskyCalculator implementation
  *
@@ -43,4 +65,226 @@ public class ChudnovskyCalculatorImplTests {
         Assertions.assertEquals(8814, calculator.getNumIterations(125000));
         Assertions.assertEquals(70513, calculator.getNumIterations(1000000));
     }
+
+    @Test
+    public void exactAccumulationTest() throws ExecutionException, InterruptedException {
+        calculator.setExactAccumulation(true);
+        MathContext context = new MathContext(100, RoundingMode.DOWN);
+        Assertions.assertEquals(PiDigits.PI_100, calculator.calculateAsync(calculator.getNumIterations(110), context).get().toPlainString());
+
+        // the last digit is correctly rounded
+        ChudnovskyBinarySplittingCalculator reference = new ChudnovskyBinarySplittingCalculator(service);
+        for (int precision : new int[]{20, 50, 100, 1000}) {
+            context = new MathContext(precision, RoundingMode.HALF_EVEN);
+            int iterations = calculator.getNumIterations(precision + 20);
+            Assertions.assertEquals(reference.calculateAsync(iterations, context).get(), calculator.calculateAsync(iterations, context).get());
+        }
+
+        // the exact accumulation streams with the summation window, even without the streaming summation
+        Assertions.assertFalse(calculator.isStreamingSummation());
+        calculator.setSummationWindow(1);
+        context = new MathContext(2000, RoundingMode.HALF_EVEN);
+        int iterations = calculator.getNumIterations(2020);
+        Assertions.assertEquals(reference.calculateAsync(iterations, context).get(), calculator.calculateAsync(iterations, context).get());
+    }
+
+    @Test
+    public void resumeTest() throws IOException, ExecutionException, InterruptedException {
+        MathContext context = new MathContext(300);
+        calculator.setExactAccumulation(true);
+        BigDecimal expected = calculator.calculateAsync(20, context).get();
+
+        Path checkpoint = Files.createTempFile("chudnovsky", ".checkpoint");
+        try {
+            calculator.setCheckpointInterval(3);
+            Assertions.assertEquals(expected, calculator.calculateAsync(20, context, checkpoint).get());
+            Assertions.assertEquals(21, ChudnovskyCheckpoint.read(checkpoint).getSum().getTo());
+
+            // simulate a calculation which has been interrupted after 7 terms
+            calculator.setCheckpointInterval(7);
+            calculator.calculateAsync(6, context, checkpoint).get();
+            new ChudnovskyCheckpoint(20, ChudnovskyCheckpoint.read(checkpoint).getSum()).write(checkpoint);
+            Assertions.assertEquals(expected, calculator.resumeAsync(checkpoint, context).get());
+
+            // the checkpointed and the resumed results are correct, not only consistent with each other
+            MathContext reference = new MathContext(100, RoundingMode.DOWN);
+            Assertions.assertEquals(PiDigits.PI_100, calculator.calculateAsync(10, reference, checkpoint).get().toPlainString());
+            calculator.calculateAsync(3, reference, checkpoint).get();
+            new ChudnovskyCheckpoint(10, ChudnovskyCheckpoint.read(checkpoint).getSum()).write(checkpoint);
+            Assertions.assertEquals(PiDigits.PI_100, calculator.resumeAsync(checkpoint, reference).get().toPlainString());
+        } finally {
+            Files.deleteIfExists(checkpoint);
+        }
+    }
+
+    @Test
+    public void corruptCheckpointTest() throws IOException {
+        Path checkpoint = Files.createTempFile("chudnovsky", ".checkpoint");
+        try {
+            new ChudnovskyCheckpoint(20, ChudnovskyPartialSum.ofTerm(0, BigInteger.valueOf(13591409))).write(checkpoint);
+            byte[] valid = Files.readAllBytes(checkpoint);
+            Assertions.assertEquals(1, ChudnovskyCheckpoint.read(checkpoint).getSum().getTo());
+
+            // iterations, index of the next term and length of the numerator
+            for (int[] field : new int[][]{{8, -1}, {12, 0}, {12, 22}, {16, -1}, {16, 0}, {16, 1 << 30}}) {
+                byte[] corrupt = valid.clone();
+                ByteBuffer.wrap(corrupt).putInt(field[0], field[1]);
+                Files.write(checkpoint, corrupt);
+                Assertions.assertThrows(IOException.class, () -> ChudnovskyCheckpoint.read(checkpoint));
+            }
+            Files.write(checkpoint, Arrays.copyOf(valid, valid.length - 1));
+            Assertions.assertThrows(IOException.class, () -> ChudnovskyCheckpoint.read(checkpoint));
+            Files.write(checkpoint, Arrays.copyOf(valid, valid.length + 1));
+            Assertions.assertThrows(IOException.class, () -> ChudnovskyCheckpoint.read(checkpoint));
+            Files.write(checkpoint, Arrays.copyOf(valid, 10));
+            Assertions.assertThrows(IOException.class, () -> ChudnovskyCheckpoint.read(checkpoint));
+        } finally {
+            Files.deleteIfExists(checkpoint);
+        }
+    }
+
+    @Test
+    public void cancelTest() throws ExecutionException, InterruptedException, TimeoutException {
+        BigDecimal expected = calculator.calculateAsync(1, new MathContext(20)).get();
+        CompletableFuture<BigDecimal> future = calculator.calculateAsync(100000, new MathContext(1000000));
+        Assertions.assertTrue(future.cancel(true));
+        Assertions.assertTrue(future.isCancelled());
+
+        // the queued tasks of the cancelled calculation must not block the executor
+        CompletableFuture<BigDecimal> next = calculator.calculateAsync(1, new MathContext(20));
+        Assertions.assertEquals(expected, next.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void primeSwingTest() throws ExecutionException, InterruptedException {
+        MathContext context = new MathContext(1000);
+        ChudnovskyCalculator primeSwing = new ChudnovskyCalculator(service, new PrimeSwingFactorialCalculator());
+        Assertions.assertEquals(calculator.calculateAsync(70, context).get(), primeSwing.calculateAsync(70, context).get());
+    }
+
+    @Test
+    public void blockSizeTest() throws ExecutionException, InterruptedException {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> calculator.setBlockSize(-1));
+        MathContext context = new MathContext(1000);
+        MathContext compared = new MathContext(990);
+        calculator.setBlockSize(1);
+        BigDecimal expected = calculator.calculateAsync(70, context).get().round(compared);
+
+        for (boolean termRecurrence : new boolean[]{false, true}) {
+            calculator.setTermRecurrence(termRecurrence);
+            for (int blockSize : new int[]{0, 1, 3, 7, 71, 100}) {
+                calculator.setBlockSize(blockSize);
+                Assertions.assertEquals(expected, calculator.calculateAsync(70, context).get().round(compared));
+            }
+        }
+    }
+
+    @Test
+    public void sessionTest() throws ExecutionException, InterruptedException {
+        ChudnovskySession session = calculator.openSession();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> session.calculateAsync(-1, new MathContext(20)));
+        Assertions.assertEquals(-1, session.getIterations());
+
+        calculator.setExactAccumulation(true);
+        for (int iterations : new int[]{0, 10, 35, 70}) {
+            MathContext context = new MathContext(calculator.getPrecision(iterations));
+            BigDecimal expected = calculator.calculateAsync(iterations, context).get();
+            Assertions.assertEquals(expected, session.calculateAsync(iterations, context).get());
+            Assertions.assertEquals(iterations, session.getIterations());
+        }
+
+        // the terms which have been calculated already are kept
+        MathContext context = new MathContext(1000);
+        Assertions.assertEquals(calculator.calculateAsync(70, context).get(), session.calculateAsync(20, context).get());
+        Assertions.assertEquals(70, session.getIterations());
+
+        // the cached constant does not limit the precision of the results
+        MathContext reference = new MathContext(100, RoundingMode.DOWN);
+        Assertions.assertEquals(PiDigits.PI_100, session.calculateAsync(70, reference).get().toPlainString());
+        Assertions.assertEquals(PiDigits.PI_100, session.calculateAsync(71, reference).get().toPlainString());
+        Assertions.assertEquals(PiDigits.PI_100.substring(0, 51), session.calculateAsync(71, new MathContext(50, RoundingMode.DOWN)).get().toPlainString());
+    }
+
+    @Test
+    public void sessionCancelTest() throws ExecutionException, InterruptedException, TimeoutException {
+        ChudnovskySession session = calculator.openSession();
+        MathContext context = new MathContext(300);
+        session.calculateAsync(10, context).get();
+        CompletableFuture<BigDecimal> future = session.calculateAsync(100000, new MathContext(1000000));
+        Assertions.assertTrue(future.cancel(true));
+
+        calculator.setExactAccumulation(true);
+        BigDecimal expected = calculator.calculateAsync(20, context).get();
+        Assertions.assertEquals(expected, session.calculateAsync(20, context).get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(20, session.getIterations());
+    }
+
+    @Test
+    public void streamingSummationTest() throws ExecutionException, InterruptedException {
+        MathContext context = new MathContext(1000);
+        MathContext compared = new MathContext(990);
+        BigDecimal expected = calculator.calculateAsync(70, context).get().round(compared);
+
+        calculator.setStreamingSummation(true);
+        for (boolean termRecurrence : new boolean[]{false, true}) {
+            calculator.setTermRecurrence(termRecurrence);
+            for (int blockSize : new int[]{0, 1, 7}) {
+                calculator.setBlockSize(blockSize);
+                for (int window : new int[]{0, 1, 3}) {
+                    calculator.setSummationWindow(window);
+                    Assertions.assertEquals(expected, calculator.calculateAsync(70, context).get().round(compared));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void streamingRecurrenceTest() throws ExecutionException, InterruptedException {
+        MathContext context = new MathContext(1000);
+        MathContext compared = new MathContext(990);
+        BigDecimal expected = calculator.calculateAsync(70, context).get().round(compared);
+
+        // the blocks are generated by several threads one after another
+        ChudnovskyCalculator parallel = new ChudnovskyCalculator(Executors.newWorkStealingPool(4));
+        parallel.setStreamingSummation(true);
+        parallel.setTermRecurrence(true);
+        parallel.setBlockSize(1);
+        for (int window : new int[]{1, 2, 5}) {
+            parallel.setSummationWindow(window);
+            for (int i = 0; i < 5; i++) {
+                Assertions.assertEquals(expected, parallel.calculateAsync(70, context).get().round(compared));
+            }
+        }
+    }
+
+    @Test
+    public void eventsDeliveredTest() throws ExecutionException, InterruptedException {
+        ChudnovskyCalculator parallel = new ChudnovskyCalculator(Executors.newWorkStealingPool(4));
+        parallel.setBlockSize(1);
+        Set<Integer> iterations = ConcurrentHashMap.newKeySet();
+        Set<Integer> nominators = ConcurrentHashMap.newKeySet();
+        AtomicInteger constants = new AtomicInteger();
+        parallel.addListener(result -> iterations.add(result.getIterationIndex()));
+        parallel.addListener(new ChudnovskyCalculatorAdapter() {
+            @Override
+            public void notifyNominatorCalculationCompleted(NominatorCalculationResult result) {
+                nominators.add(result.getIterationIndex());
+            }
+
+            @Override
+            public void notifyConstantCalculationCompleted(ConstantCalculationResult result) {
+                constants.incrementAndGet();
+            }
+        });
+
+        // all events of a calculation have been delivered when its result is available
+        for (int i = 1; i <= 10; i++) {
+            iterations.clear();
+            nominators.clear();
+            parallel.calculateAsync(50, new MathContext(200)).get();
+            Assertions.assertEquals(51, iterations.size());
+            Assertions.assertEquals(51, nominators.size());
+            Assertions.assertEquals(i, constants.get());
+        }
+    }
 }
@@ -0,0 +1,115 @@
+package calculator.impl;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import calculator.multiplication.Multiplier;
+import calculator.multiplication.impl.JavaMultiplier;
+
+/**
+ * Adds test cases for the ChudnovskyPartialSum
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+public class ChudnovskyPartialSumTests {
+
+    private static final int TERMS = 40;
+
+    private Multiplier multiplier = new JavaMultiplier();
+
+    @Test
+    public void combineTest() {
+        List<ChudnovskyPartialSum> terms = terms();
+        ChudnovskyPartialSum.Powers powers = new ChudnovskyPartialSum.Powers(multiplier);
+        for (int split = 1; split < TERMS; split += 3) {
+            for (int split2 = split + 1; split2 < TERMS; split2 += 5) {
+                ChudnovskyPartialSum a = sequential(terms, 0, split);
+                ChudnovskyPartialSum b = sequential(terms, split, split2);
+                ChudnovskyPartialSum c = sequential(terms, split2, TERMS);
+                // (a + b) + c = a + (b + c)
+                assertSumEquals(a.combine(b, multiplier).combine(c, multiplier), a.combine(b.combine(c, powers), powers));
+            }
+        }
+        Assertions.assertThrows(IllegalArgumentException.class, () -> terms.get(0).combine(terms.get(2), multiplier));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ChudnovskyPartialSum(3, 3, BigInteger.ONE));
+    }
+
+    @Test
+    public void singleRangeTest() {
+        List<ChudnovskyPartialSum> terms = terms();
+        ChudnovskyTermGenerator generator = new ChudnovskyTermGenerator();
+        // the exact sum of the fractions nominator / denominator of the terms
+        BigInteger numerator = BigInteger.ZERO;
+        BigInteger denominator = BigInteger.ONE;
+        for (int k = 0; k < TERMS; k++) {
+            numerator = numerator.multiply(generator.getDenominator()).add(generator.getNominator().multiply(denominator));
+            denominator = denominator.multiply(generator.getDenominator());
+            generator.next();
+
+            ChudnovskyPartialSum sum = tree(terms, 0, k + 1, new ChudnovskyPartialSum.Powers(multiplier));
+            Assertions.assertEquals(0, sum.getFrom());
+            Assertions.assertEquals(k + 1, sum.getTo());
+            Assertions.assertEquals(numerator.multiply(sum.getDenominator()), sum.getNumerator().multiply(denominator));
+            assertSumEquals(sequential(terms, 0, k + 1), sum);
+        }
+
+        MathContext context = new MathContext(50);
+        Assertions.assertEquals(new BigDecimal(numerator).divide(new BigDecimal(denominator), context),
+                sequential(terms, 0, TERMS).toBigDecimal(context));
+    }
+
+    @Test
+    public void accumulatorTest() {
+        List<ChudnovskyPartialSum> terms = terms();
+        ChudnovskyPartialSum.Powers powers = new ChudnovskyPartialSum.Powers(multiplier);
+        Assertions.assertThrows(IllegalStateException.class, () -> new ChudnovskyPartialSum.Accumulator(powers).toSum());
+        for (int size = 1; size <= 7; size++) {
+            for (int count = 1; count * size < TERMS; count++) {
+                ChudnovskyPartialSum.Accumulator accumulator = new ChudnovskyPartialSum.Accumulator(powers);
+                for (int from = 0; from < count * size; from += size) {
+                    accumulator.add(sequential(terms, from, from + size));
+                }
+                assertSumEquals(sequential(terms, 0, count * size), accumulator.toSum());
+            }
+        }
+    }
+
+    private List<ChudnovskyPartialSum> terms() {
+        List<ChudnovskyPartialSum> terms = new ArrayList<>();
+        ChudnovskyTermGenerator generator = new ChudnovskyTermGenerator();
+        for (int k = 0; k < TERMS; k++) {
+            terms.add(ChudnovskyPartialSum.ofTerm(k, generator.getNominator()));
+            generator.next();
+        }
+        return terms;
+    }
+
+    private ChudnovskyPartialSum sequential(List<ChudnovskyPartialSum> terms, int from, int to) {
+        ChudnovskyPartialSum sum = terms.get(from);
+        for (int k = from + 1; k < to; k++) {
+            sum = sum.combine(terms.get(k), multiplier);
+        }
+        return sum;
+    }
+
+    private ChudnovskyPartialSum tree(List<ChudnovskyPartialSum> terms, int from, int to, ChudnovskyPartialSum.Powers powers) {
+        if (to - from == 1) {
+            return terms.get(from);
+        }
+        int mid = (from + to) >>> 1;
+        return tree(terms, from, mid, powers).combine(tree(terms, mid, to, powers), powers);
+    }
+
+    private static void assertSumEquals(ChudnovskyPartialSum expected, ChudnovskyPartialSum actual) {
+        Assertions.assertEquals(expected.getFrom(), actual.getFrom());
+        Assertions.assertEquals(expected.getTo(), actual.getTo());
+        Assertions.assertEquals(expected.getNumerator(), actual.getNumerator());
+    }
+}
@@ -0,0 +1,64 @@
+package calculator.impl;
+
+import java.math.BigInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import calculator.factorial.PrimeSwingFactorialCalculator;
+
+/**
+ * Adds test cases for the ChudnovskyTermGenerator
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+public class ChudnovskyTermGeneratorTests {
+
+    private static final int TERMS = 50;
+
+    @Test
+    public void recurrenceTest() {
+        ChudnovskyTermGenerator generator = new ChudnovskyTermGenerator();
+        for (int k = 0; k <= TERMS; k++) {
+            Assertions.assertEquals(k, generator.getIndex());
+            assertTerm(k, generator);
+            generator.next();
+        }
+    }
+
+    @Test
+    public void startTest() {
+        PrimeSwingFactorialCalculator factorialCalculator = new PrimeSwingFactorialCalculator();
+        for (int start = 0; start <= TERMS; start += 7) {
+            ChudnovskyTermGenerator generator = new ChudnovskyTermGenerator(start, factorialCalculator);
+            for (int k = start; k <= TERMS; k++) {
+                Assertions.assertEquals(k, generator.getIndex());
+                assertTerm(k, generator);
+                generator.next();
+            }
+        }
+    }
+
+    /**
+     * Compares the term of the generator with the term (6k)! * (545140134k + 13591409) / ((3k)! * (k!)^3 *
+     * (-262537412640768000)^k). The fraction of the generator is reduced by (3k)! * (k!)^3.
+     */
+    private static void assertTerm(int k, ChudnovskyTermGenerator generator) {
+        BigInteger nominator = factorial(6 * k).multiply(BigInteger.valueOf(545140134L * k + 13591409));
+        BigInteger reduction = factorial(3 * k).multiply(factorial(k).pow(3));
+        BigInteger denominator = reduction.multiply(BigInteger.valueOf(-262537412640768000L).pow(k));
+
+        Assertions.assertEquals(nominator.multiply(generator.getDenominator()), denominator.multiply(generator.getNominator()));
+        Assertions.assertEquals(nominator.divide(reduction), generator.getNominator());
+        Assertions.assertEquals(denominator.divide(reduction), generator.getDenominator());
+    }
+
+    private static BigInteger factorial(int n) {
+        BigInteger result = BigInteger.ONE;
+        for (int i = 2; i <= n; i++) {
+            result = result.multiply(BigInteger.valueOf(i));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,63 @@
+package calculator.impl;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import calculator.PiDigits;
+
+/**
+ * Adds test cases for the GaussLegendreCalculator implementation
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+public class GaussLegendreCalculatorTests {
+
+    private GaussLegendreCalculator calculator;
+    private ExecutorService service = Executors.newWorkStealingPool();
+
+    @BeforeEach
+    public void initTests() {
+        calculator = new GaussLegendreCalculator(service);
+    }
+
+    @Test
+    public void calculateTest() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> calculator.calculateAsync(-1));
+
+        MathContext context = new MathContext(100, RoundingMode.DOWN);
+        BigDecimal result = calculator.calculate(calculator.getNumIterations(110), context);
+        Assertions.assertEquals(PiDigits.PI_100, result.toPlainString());
+    }
+
+    @Test
+    public void getPrecisionTest() {
+        ChudnovskyBinarySplittingCalculator reference = new ChudnovskyBinarySplittingCalculator(service);
+        MathContext context = new MathContext(3000, RoundingMode.DOWN);
+        String expected = reference.calculate(reference.getNumIterations(3020), context).toPlainString();
+        for (int iterations = 1; iterations <= 10; iterations++) {
+            int precision = calculator.getPrecision(iterations);
+            String actual = calculator.calculate(iterations, context).toPlainString();
+            // the precision includes the leading 3
+            Assertions.assertEquals(expected.substring(0, precision + 1), actual.substring(0, precision + 1));
+        }
+        Assertions.assertEquals(5, calculator.getNumIterations(80));
+    }
+
+    @Test
+    public void iterationCompletedTest() {
+        Set<Integer> iterations = ConcurrentHashMap.newKeySet();
+        calculator.addListener(result -> iterations.add(result.getIterationIndex()));
+        calculator.calculate(4, new MathContext(100));
+        Assertions.assertEquals(Set.of(0, 1, 2, 3), iterations);
+    }
+}
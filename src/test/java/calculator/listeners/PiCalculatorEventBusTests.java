@@ -0,0 +1,143 @@
+package calculator.listeners;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import calculator.listeners.data.IterationCompletedResult;
+import calculator.listeners.data.NominatorCalculationResult;
+
+/**
+ * Adds test cases for the PiCalculatorEventBus
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+public class PiCalculatorEventBusTests {
+
+    private PiCalculatorEventBus eventBus;
+
+    @BeforeEach
+    public void initTests() {
+        eventBus = new PiCalculatorEventBus();
+    }
+
+    @Test
+    public void deliveryTest() throws ExecutionException, InterruptedException {
+        Assertions.assertFalse(eventBus.hasListeners());
+        List<Integer> indices = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        PiCalculatorListener listener = result -> {
+            indices.add(result.getIterationIndex());
+            threads.add(Thread.currentThread());
+        };
+        eventBus.addListener(listener);
+        Assertions.assertTrue(eventBus.hasListener(listener));
+        Assertions.assertTrue(eventBus.hasListeners());
+        Assertions.assertFalse(eventBus.hasChudnovskyListeners());
+
+        for (int i = 0; i < 1000; i++) {
+            eventBus.iterationCompleted(i, BigDecimal.ONE);
+        }
+        eventBus.flush().get();
+
+        Assertions.assertEquals(1000, indices.size());
+        for (int i = 0; i < 1000; i++) {
+            Assertions.assertEquals(i, indices.get(i).intValue());
+            Assertions.assertNotSame(Thread.currentThread(), threads.get(i));
+        }
+
+        eventBus.removeListener(listener);
+        Assertions.assertFalse(eventBus.hasListeners());
+    }
+
+    @Test
+    public void batchTest() throws ExecutionException, InterruptedException {
+        List<Integer> sizes = new ArrayList<>();
+        List<IterationCompletedResult> single = new ArrayList<>();
+        eventBus.addListener(new PiCalculatorListener() {
+            @Override
+            public void notifyIterationCompleted(IterationCompletedResult calculationResult) {
+                single.add(calculationResult);
+            }
+
+            @Override
+            public void notifyIterationsCompleted(List<IterationCompletedResult> calculationResults) {
+                sizes.add(calculationResults.size());
+            }
+        });
+        eventBus.setBatchSize(4);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> eventBus.setBatchSize(0));
+
+        for (int i = 0; i < 10; i++) {
+            eventBus.iterationCompleted(i, BigDecimal.ONE);
+        }
+        eventBus.flush().get();
+        Assertions.assertEquals(List.of(4, 4, 2), sizes);
+        Assertions.assertTrue(single.isEmpty(), "Events should be delivered in batches");
+    }
+
+    @Test
+    public void faultyListenerTest() throws ExecutionException, InterruptedException, TimeoutException {
+        List<Integer> indices = new ArrayList<>();
+        eventBus.addListener(calculationResult -> {
+            throw new AssertionError("faulty listener");
+        });
+        eventBus.addListener(calculationResult -> indices.add(calculationResult.getIterationIndex()));
+
+        eventBus.iterationCompleted(0, BigDecimal.ONE);
+        eventBus.flush().get(5, TimeUnit.SECONDS);
+        // the queue is still drained after the error
+        eventBus.iterationCompleted(1, BigDecimal.ONE);
+        eventBus.flush().get(5, TimeUnit.SECONDS);
+        Assertions.assertEquals(List.of(0, 1), indices);
+    }
+
+    @Test
+    public void independentBusesTest() throws ExecutionException, InterruptedException, TimeoutException {
+        CountDownLatch release = new CountDownLatch(1);
+        eventBus.addListener(calculationResult -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        eventBus.iterationCompleted(0, BigDecimal.ONE);
+
+        // a slow listener of one bus does not delay the events of another bus
+        PiCalculatorEventBus other = new PiCalculatorEventBus();
+        List<Integer> indices = new ArrayList<>();
+        other.addListener(calculationResult -> indices.add(calculationResult.getIterationIndex()));
+        other.iterationCompleted(0, BigDecimal.ONE);
+        other.flush().get(5, TimeUnit.SECONDS);
+        Assertions.assertEquals(List.of(0), indices);
+
+        release.countDown();
+        eventBus.flush().get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void chudnovskyListenerTest() throws ExecutionException, InterruptedException {
+        List<Integer> indices = new ArrayList<>();
+        eventBus.addListener(new ChudnovskyCalculatorAdapter() {
+            @Override
+            public void notifyNominatorCalculationCompleted(NominatorCalculationResult result) {
+                indices.add(result.getIterationIndex());
+            }
+        });
+        Assertions.assertTrue(eventBus.hasChudnovskyListeners());
+        eventBus.nominatorCalculated(BigInteger.TEN, 3);
+        eventBus.flush().get();
+        Assertions.assertEquals(List.of(3), indices);
+    }
+}
@@ -0,0 +1,108 @@
+package calculator.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import calculator.impl.ChudnovskyCalculator;
+
+/**
+ * Adds test cases for the CalculatorMetrics
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+public class CalculatorMetricsTests {
+
+    private CalculatorMetrics metrics;
+    private ExecutorService service = Executors.newSingleThreadExecutor();
+
+    @BeforeEach
+    public void initTests() {
+        metrics = new CalculatorMetrics();
+    }
+
+    @Test
+    public void disabledTest() {
+        Supplier<BigInteger> task = () -> BigInteger.TEN;
+        Assertions.assertSame(task, metrics.supplier(Phase.NOMINATOR, task));
+        Assertions.assertSame(service, metrics.executor(Phase.SUMMATION, service));
+        Assertions.assertEquals(BigInteger.TEN, metrics.get(Phase.NOMINATOR, task));
+        Assertions.assertEquals(0, metrics.snapshot().get(Phase.NOMINATOR).getTasks());
+    }
+
+    @Test
+    public void recordTest() {
+        metrics.setEnabled(true);
+        metrics.get(Phase.NOMINATOR, () -> BigInteger.ONE.shiftLeft(99));
+        metrics.supplier(Phase.NOMINATOR, () -> BigInteger.ONE.shiftLeft(9)).get();
+        metrics.run(Phase.TERMS, () -> {
+        });
+
+        PhaseSnapshot nominator = metrics.snapshot().get(Phase.NOMINATOR);
+        Assertions.assertEquals(2, nominator.getTasks());
+        Assertions.assertEquals(2, nominator.getOperands());
+        Assertions.assertEquals(110, nominator.getOperandBits());
+        Assertions.assertEquals(100, nominator.getMaxOperandBits());
+        Assertions.assertEquals(55, nominator.getAverageOperandBits());
+        Assertions.assertTrue(nominator.getWallNanos() > 0);
+
+        PhaseSnapshot terms = metrics.snapshot().get(Phase.TERMS);
+        Assertions.assertEquals(1, terms.getTasks());
+        Assertions.assertEquals(0, terms.getOperands());
+
+        metrics.reset();
+        Assertions.assertEquals(0, metrics.snapshot().get(Phase.NOMINATOR).getTasks());
+    }
+
+    @Test
+    public void calculatorTest() throws ExecutionException, InterruptedException {
+        ChudnovskyCalculator calculator = new ChudnovskyCalculator(service);
+        // one task per operation
+        calculator.setBlockSize(1);
+        calculator.getMetrics().setEnabled(true);
+        calculator.calculate(10, new MathContext(100));
+        // tasks run by a measuring executor are recorded after their result has been passed on
+        service.submit(() -> {
+        }).get();
+
+        Map<Phase, PhaseSnapshot> snapshot = calculator.getMetrics().snapshot();
+        Assertions.assertEquals(1, snapshot.get(Phase.CONSTANT).getTasks());
+        Assertions.assertEquals(11, snapshot.get(Phase.DIVISION).getTasks());
+        Assertions.assertEquals(10, snapshot.get(Phase.SUMMATION).getTasks());
+        Assertions.assertEquals(1, snapshot.get(Phase.FINAL_DIVISION).getTasks());
+        Assertions.assertTrue(snapshot.get(Phase.NOMINATOR).getTasks() > 0);
+        Assertions.assertTrue(snapshot.get(Phase.DENOMINATOR).getMaxOperandBits() > 0);
+    }
+
+    @Test
+    public void jmxTest() throws JMException {
+        metrics.setEnabled(true);
+        metrics.get(Phase.CONSTANT, () -> BigInteger.ONE);
+        ObjectName name = metrics.register("jmxTest");
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            Assertions.assertEquals(Boolean.TRUE, server.getAttribute(name, "Enabled"));
+            CompositeData[] phases = (CompositeData[]) server.getAttribute(name, "Phases");
+            Assertions.assertEquals(Phase.values().length, phases.length);
+            Assertions.assertEquals("CONSTANT", phases[0].get("phase"));
+            Assertions.assertEquals(1L, phases[0].get("tasks"));
+        } finally {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package calculator.multiplication.impl;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Adds test cases for the NttMultiplier implementation
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+public class NttMultiplierTests {
+
+    private final Random random = new Random(42);
+    // use the transform for every multiplication
+    private final NttMultiplier multiplier = new NttMultiplier(0);
+
+    @Test
+    public void multiplyTest() {
+        Assertions.assertEquals(BigInteger.ZERO, multiplier.multiply(BigInteger.ZERO, BigInteger.TEN));
+        Assertions.assertEquals(BigInteger.valueOf(-6), multiplier.multiply(BigInteger.valueOf(2), BigInteger.valueOf(-3)));
+        Assertions.assertEquals(BigInteger.valueOf(6), multiplier.multiply(BigInteger.valueOf(-2), BigInteger.valueOf(-3)));
+
+        for (int i = 0; i < 100; i++) {
+            BigInteger a = new BigInteger(random.nextInt(20000) + 1, random);
+            BigInteger b = new BigInteger(random.nextInt(20000) + 1, random);
+            if (random.nextBoolean()) {
+                a = a.negate();
+            }
+            Assertions.assertEquals(a.multiply(b), multiplier.multiply(a, b));
+        }
+    }
+
+    @Test
+    public void carryTest() {
+        // all limbs are at their maximum, so every coefficient produces a carry
+        BigInteger a = BigInteger.ONE.shiftLeft(100000).subtract(BigInteger.ONE);
+        Assertions.assertEquals(a.multiply(a), multiplier.square(a));
+    }
+
+    @Test
+    public void powTest() {
+        BigInteger base = BigInteger.valueOf(-262537412640768000L);
+        Assertions.assertEquals(base.pow(0), multiplier.pow(base, 0));
+        Assertions.assertEquals(base.pow(1), multiplier.pow(base, 1));
+        Assertions.assertEquals(base.pow(777), multiplier.pow(base, 777));
+        Assertions.assertThrows(ArithmeticException.class, () -> multiplier.pow(base, -1));
+    }
+}
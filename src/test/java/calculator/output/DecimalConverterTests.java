@@ -0,0 +1,85 @@
+package calculator.output;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import calculator.multiplication.Multiplier;
+import calculator.multiplication.impl.JavaMultiplier;
+import calculator.multiplication.impl.NttMultiplier;
+import calculator.tools.BarrettDivisor;
+
+/**
+ * Adds test cases for the decimal converter
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+public class DecimalConverterTests {
+
+    private ExecutorService service = Executors.newWorkStealingPool();
+    private Random random = new Random(42);
+
+    @Test
+    public void divisionTest() throws ExecutionException, InterruptedException {
+        testConverter(null);
+    }
+
+    @Test
+    public void barrettTest() throws ExecutionException, InterruptedException {
+        testConverter(new JavaMultiplier());
+        // use the transform for every multiplication
+        testConverter(new NttMultiplier(0));
+    }
+
+    @Test
+    public void barrettDivisorTest() {
+        Multiplier multiplier = new JavaMultiplier();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new BarrettDivisor(BigInteger.ZERO, multiplier));
+        for (int i = 0; i < 100; i++) {
+            BigInteger divisor = new BigInteger(random.nextInt(2000) + 1, random).add(BigInteger.ONE);
+            BarrettDivisor barrett = new BarrettDivisor(divisor, multiplier);
+            // up to the square of the divisor, and beyond it where the division of BigInteger is used
+            BigInteger[] values = {BigInteger.ZERO, divisor.subtract(BigInteger.ONE), divisor, divisor.multiply(divisor).subtract(BigInteger.ONE),
+                    new BigInteger(2 * divisor.bitLength(), random), new BigInteger(3 * divisor.bitLength(), random)};
+            for (BigInteger value : values) {
+                Assertions.assertArrayEquals(value.divideAndRemainder(divisor), barrett.divideAndRemainder(value));
+            }
+        }
+    }
+
+    private void testConverter(Multiplier multiplier) throws ExecutionException, InterruptedException {
+        List<BigDecimal> values = new ArrayList<>();
+        for (String value : new String[]{"0", "0.000", "1", "-1", "9.99", "0.000123", "-0.5", "1E+5", "-12E+3", "0E+3",
+                "100000000000000000000", "0.1000000000000000000001", "-31415926535.8979323846"}) {
+            values.add(new BigDecimal(value));
+        }
+        // the number of digits is a power of two times the leaf digits or just above it
+        values.add(new BigDecimal(BigInteger.TEN.pow(56)));
+        values.add(new BigDecimal(BigInteger.TEN.pow(56).subtract(BigInteger.ONE), 28));
+        values.add(new BigDecimal(BigInteger.TEN.pow(57).add(BigInteger.ONE), 3).negate());
+        for (int i = 0; i < 50; i++) {
+            BigInteger unscaled = new BigInteger(random.nextInt(3000) + 1, random);
+            int scale = random.nextInt(2000) - 500;
+            BigDecimal value = new BigDecimal(unscaled, scale);
+            values.add(random.nextBoolean() ? value : value.negate());
+        }
+
+        for (int leafDigits : new int[]{1, 7, 64}) {
+            DecimalConverter converter = new DecimalConverter(service, leafDigits, multiplier);
+            for (BigDecimal value : values) {
+                StringBuilder builder = new StringBuilder();
+                converter.writeAsync(value, DigitSink.of(builder)).get();
+                Assertions.assertEquals(value.toPlainString(), builder.toString());
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package calculator.output;
+
+import java.io.IOException;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Adds test cases for the file digit sink
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+public class FileDigitSinkTests {
+
+    @Test
+    public void plainTest() throws IOException {
+        Path file = Files.createTempFile("digits", ".txt");
+        try {
+            try (FileDigitSink sink = new FileDigitSink(file)) {
+                write(sink, "-3.14159");
+                write(sink, "26535");
+            }
+            Assertions.assertEquals("-3.1415926535\n", read(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void headerTest() throws IOException {
+        Path file = Files.createTempFile("digits", ".txt");
+        try {
+            try (FileDigitSink sink = new FileDigitSink(file, "Chudnovsky", new MathContext(10, RoundingMode.DOWN), 0, 0)) {
+                write(sink, "3.141592653");
+            }
+            Assertions.assertEquals("# algorithm: Chudnovsky\n# precision: 10\n# rounding: DOWN\n3.141592653\n", read(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void groupingTest() throws IOException {
+        Path file = Files.createTempFile("digits", ".txt");
+        try {
+            // the chunks split the groups and the decimal point at arbitrary positions
+            try (FileDigitSink sink = new FileDigitSink(file, null, null, 3, 2)) {
+                write(sink, "31");
+                write(sink, "4.1");
+                write(sink, "5926");
+                write(sink, "53589793");
+            }
+            Assertions.assertEquals("314.\n159 265\n358 979\n3\n", read(file));
+
+            try (FileDigitSink sink = new FileDigitSink(file, null, null, 4, 0)) {
+                write(sink, "3.14159265358");
+            }
+            Assertions.assertEquals("3.1415 9265 358\n", read(file));
+
+            // a complete last line is not followed by an empty line
+            try (FileDigitSink sink = new FileDigitSink(file, null, null, 2, 2)) {
+                write(sink, "3.1415");
+            }
+            Assertions.assertEquals("3.\n14 15\n", read(file));
+
+            Assertions.assertThrows(IllegalArgumentException.class, () -> new FileDigitSink(file, null, null, -1, 0));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void flushTest() throws IOException {
+        Path file = Files.createTempFile("digits", ".txt");
+        try {
+            // more than the buffer of 1 MiB, written in chunks which do not divide it
+            char[] digits = new char[3_000_000];
+            for (int i = 0; i < digits.length; i++) {
+                digits[i] = (char) ('0' + i % 10);
+            }
+            digits[1] = '.';
+            try (FileDigitSink sink = new FileDigitSink(file, null, null, 10, 100)) {
+                for (int offset = 0; offset < digits.length; offset += 65_537) {
+                    sink.write(digits, offset, Math.min(65_537, digits.length - offset));
+                }
+                Assertions.assertTrue(Files.size(file) > 0, "Full buffers must be written before the sink is closed");
+            }
+
+            StringBuilder expected = new StringBuilder("0.\n");
+            for (int i = 2; i < digits.length; i++) {
+                int fractionDigits = i - 2;
+                if (fractionDigits > 0 && fractionDigits % 10 == 0) {
+                    expected.append(fractionDigits % 1000 == 0 ? '\n' : ' ');
+                }
+                expected.append(digits[i]);
+            }
+            expected.append('\n');
+            Assertions.assertEquals(expected.toString(), read(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void closeTest() throws IOException {
+        Path file = Files.createTempFile("digits", ".txt");
+        try {
+            FileDigitSink sink = new FileDigitSink(file);
+            write(sink, "3.14");
+            Assertions.assertEquals(0, Files.size(file));
+            sink.close();
+            Assertions.assertEquals("3.14\n", read(file));
+            // a second close neither fails nor terminates another line
+            sink.close();
+            Assertions.assertEquals("3.14\n", read(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static void write(DigitSink sink, String digits) throws IOException {
+        char[] chars = new char[digits.length() + 2];
+        Arrays.fill(chars, 'x');
+        digits.getChars(0, digits.length(), chars, 1);
+        sink.write(chars, 1, digits.length());
+    }
+
+    private static String read(Path file) throws IOException {
+        return new String(Files.readAllBytes(file), StandardCharsets.US_ASCII);
+    }
+}
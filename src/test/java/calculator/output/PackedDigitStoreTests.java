@@ -0,0 +1,98 @@
+package calculator.output;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import calculator.PiDigits;
+
+/**
+ * Adds test cases for the packed digit store
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+public class PackedDigitStoreTests {
+
+    private ExecutorService service = Executors.newWorkStealingPool();
+
+    @Test
+    public void decimalTest() throws ExecutionException, InterruptedException {
+        PackedDigitStore store = PackedDigitStore.allocate(PackedDigitStore.Radix.DECIMAL, 100);
+        new DecimalConverter(service, 7, null).writeAsync(new BigDecimal(PiDigits.PI_100), store).get();
+
+        String digits = PiDigits.PI_100.replace(".", "");
+        Assertions.assertEquals(100, store.length());
+        Assertions.assertEquals(1, store.getIntegerDigits());
+        for (int i = 0; i < digits.length(); i++) {
+            Assertions.assertEquals(digits.charAt(i), store.charAt(i));
+            Assertions.assertEquals(digits.charAt(i) - '0', store.digitAt(i));
+        }
+
+        char[] chars = new char[12];
+        store.getChars(90, chars, 2, 10);
+        Assertions.assertEquals(digits.substring(90), new String(chars, 2, 10));
+        byte[] values = new byte[3];
+        store.getDigits(1, values, 0, 3);
+        Assertions.assertArrayEquals(new byte[]{1, 4, 1}, values);
+        ByteBuffer ascii = ByteBuffer.allocate(5);
+        store.getAscii(0, ascii, 5);
+        Assertions.assertEquals("31415", new String(ascii.array(), StandardCharsets.US_ASCII));
+
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> store.digitAt(-1));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> store.digitAt(100));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> store.getChars(95, chars, 0, 6));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> store.digitAt(Long.MAX_VALUE));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> store.getChars(Long.MAX_VALUE - 1, chars, 0, 2));
+        Assertions.assertThrows(IOException.class, () -> store.write(new char[]{'1'}, 0, 1));
+    }
+
+    @Test
+    public void hexadecimalTest() throws IOException {
+        PackedDigitStore store = PackedDigitStore.allocate(PackedDigitStore.Radix.HEXADECIMAL, 101);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> store.write(new char[]{'G'}, 0, 1));
+        store.write(PiDigits.PI_HEX_100.toCharArray(), 0, 50);
+        store.write(PiDigits.PI_HEX_100.toLowerCase().toCharArray(), 50, 50);
+
+        Assertions.assertEquals(100, store.length());
+        Assertions.assertEquals(100, store.getIntegerDigits());
+        Assertions.assertEquals(2, store.digitAt(0));
+        Assertions.assertEquals(15, store.digitAt(3));
+        char[] chars = new char[100];
+        store.getChars(0, chars, 0, 100);
+        Assertions.assertEquals(PiDigits.PI_HEX_100, new String(chars));
+    }
+
+    @Test
+    public void mappedTest() throws IOException {
+        Path file = Files.createTempFile("digits", ".bin");
+        try {
+            PackedDigitStore store = PackedDigitStore.create(file, PackedDigitStore.Radix.DECIMAL, 200);
+            store.write(PiDigits.PI_100.toCharArray(), 0, PiDigits.PI_100.length());
+            store.force();
+
+            PackedDigitStore opened = PackedDigitStore.open(file);
+            Assertions.assertEquals(PackedDigitStore.Radix.DECIMAL, opened.getRadix());
+            Assertions.assertEquals(100, opened.length());
+            Assertions.assertEquals(1, opened.getIntegerDigits());
+            char[] chars = new char[100];
+            opened.getChars(0, chars, 0, 100);
+            Assertions.assertEquals(PiDigits.PI_100.replace(".", ""), new String(chars));
+            Assertions.assertThrows(IOException.class, () -> opened.write(new char[]{'1'}, 0, 1));
+
+            Files.write(file, new byte[]{1, 2, 3});
+            Assertions.assertThrows(IOException.class, () -> PackedDigitStore.open(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package calculator.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import calculator.impl.ChudnovskyCalculator;
+
+/**
+ * Adds test cases for the HTTP calculation server
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+public class PiServerTests {
+
+    private ExecutorService service = Executors.newCachedThreadPool();
+    private AtomicInteger calculations = new AtomicInteger();
+    private CompletableFuture<Void> gate = new CompletableFuture<>();
+    private PiServer server;
+
+    @BeforeEach
+    public void initTests() throws IOException {
+        // counts the calculations, which do not complete before the gate has been opened
+        ChudnovskyCalculator calculator = new ChudnovskyCalculator(service) {
+            @Override
+            public CompletableFuture<BigDecimal> calculateAsync(int iterations, MathContext precision) {
+                calculations.incrementAndGet();
+                return super.calculateAsync(iterations, precision).thenCombine(gate, (result, ignored) -> result);
+            }
+        };
+        server = new PiServer(calculator, service, 100, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        server.setAdmissionTimeout(200);
+        server.start();
+    }
+
+    @AfterEach
+    public void stopServer() {
+        gate.complete(null);
+        server.stop(0);
+        service.shutdownNow();
+    }
+
+    @Test
+    public void digitsTest() throws ExecutionException, InterruptedException, IOException {
+        gate.complete(null);
+        BigDecimal expected = new ChudnovskyCalculator(service).calculateAsync(10, new MathContext(120)).get()
+                .round(new MathContext(100, RoundingMode.DOWN));
+        Assertions.assertEquals(expected.toPlainString(), get("/pi?digits=100"));
+        Assertions.assertEquals("3.1415", get("/pi?digits=5"));
+    }
+
+    @Test
+    public void coalesceTest() throws ExecutionException, InterruptedException {
+        CompletableFuture<String> first = getAsync("/pi?digits=80");
+        awaitCalculations(1);
+        CompletableFuture<String> second = getAsync("/pi?digits=80");
+        CompletableFuture<String> third = getAsync("/pi?digits=20");
+        awaitWaitingRequests(3);
+        gate.complete(null);
+        String digits = first.get();
+        Assertions.assertEquals(digits, second.get());
+        Assertions.assertEquals(digits.substring(0, 21), third.get());
+        Assertions.assertEquals(1, calculations.get());
+    }
+
+    @Test
+    public void admissionTest() throws ExecutionException, InterruptedException, IOException {
+        CompletableFuture<String> first = getAsync("/pi?digits=30");
+        awaitCalculations(1);
+        // 40 of the 110 permits are taken, including the guard digits
+        CompletableFuture<String> rejected = getAsync("/pi?digits=80");
+        CompletableFuture<String> admitted = getAsync("/pi?digits=60");
+        Assertions.assertEquals("503", rejected.get());
+        awaitCalculations(2);
+        gate.complete(null);
+        Assertions.assertEquals(admitted.get().substring(0, 31), first.get());
+        Assertions.assertEquals(81, get("/pi?digits=80").length());
+    }
+
+    @Test
+    public void invalidRequestTest() throws IOException {
+        Assertions.assertEquals("400", get("/pi"));
+        Assertions.assertEquals("400", get("/pi?digits=0"));
+        Assertions.assertEquals("400", get("/pi?digits=101"));
+        Assertions.assertEquals("400", get("/pi?digits=pi"));
+    }
+
+    private void awaitCalculations(int count) throws InterruptedException {
+        for (int i = 0; i < 100 && calculations.get() < count; i++) {
+            Thread.sleep(20);
+        }
+        Assertions.assertEquals(count, calculations.get());
+    }
+
+    private void awaitWaitingRequests(int count) throws InterruptedException {
+        for (int i = 0; i < 100 && server.getWaitingRequests() < count; i++) {
+            Thread.sleep(20);
+        }
+        Assertions.assertEquals(count, server.getWaitingRequests());
+    }
+
+    private CompletableFuture<String> getAsync(String path) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return get(path);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }, service);
+    }
+
+    /**
+     * @return The body of the response, or the status code if the request failed
+     */
+    private String get(String path) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL("http",
+                InetAddress.getLoopbackAddress().getHostAddress(), server.getPort(), path).openConnection();
+        try {
+            int status = connection.getResponseCode();
+            if (status != 200) {
+                return String.valueOf(status);
+            }
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            try (InputStream in = connection.getInputStream()) {
+                byte[] buffer = new byte[1024];
+                int read;
+                while ((read = in.read(buffer)) >= 0) {
+                    body.write(buffer, 0, read);
+                }
+            }
+            return new String(body.toByteArray(), StandardCharsets.US_ASCII);
+        } finally {
+            connection.disconnect();
+        }
+    }
+}
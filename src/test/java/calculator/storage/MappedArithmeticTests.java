@@ -0,0 +1,79 @@
+package calculator.storage;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import calculator.multiplication.impl.JavaMultiplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Adds test cases for the MappedArithmetic implementation
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+public class MappedArithmeticTests {
+
+    private final Random random = new Random(42);
+    private Path directory;
+    private MappedStorage storage;
+    private MappedArithmetic arithmetic;
+
+    @BeforeEach
+    public void initTests() throws IOException {
+        directory = Files.createTempDirectory("storage");
+        storage = new MappedStorage(directory);
+        // small blocks, so every multiplication is split into many block products
+        arithmetic = new MappedArithmetic(storage, new JavaMultiplier(), 3);
+    }
+
+    @AfterEach
+    public void cleanUp() throws IOException {
+        Files.delete(directory);
+    }
+
+    @Test
+    public void storeTest() throws IOException {
+        for (int i = 0; i < 50; i++) {
+            BigInteger value = randomInteger();
+            MappedInteger stored = storage.store(value);
+            Assertions.assertEquals(value, stored.toBigInteger());
+            Assertions.assertEquals(value.signum(), stored.signum());
+            Assertions.assertEquals(value.abs().bitLength(), stored.bitLength());
+            Assertions.assertEquals(value.abs().shiftRight(100), stored.truncate(100).abs());
+        }
+    }
+
+    @Test
+    public void multiplyTest() throws IOException {
+        for (int i = 0; i < 50; i++) {
+            BigInteger a = randomInteger();
+            BigInteger b = randomInteger();
+            Assertions.assertEquals(a.multiply(b), arithmetic.multiply(storage.store(a), storage.store(b)).toBigInteger());
+        }
+        // all words at their maximum, so every partial product produces carries
+        BigInteger ones = BigInteger.ONE.shiftLeft(2000).subtract(BigInteger.ONE);
+        Assertions.assertEquals(ones.multiply(ones), arithmetic.multiply(storage.store(ones), storage.store(ones)).toBigInteger());
+    }
+
+    @Test
+    public void addTest() throws IOException {
+        for (int i = 0; i < 50; i++) {
+            BigInteger a = randomInteger();
+            BigInteger b = randomInteger();
+            Assertions.assertEquals(a.add(b), arithmetic.add(storage.store(a), storage.store(b)).toBigInteger());
+            Assertions.assertEquals(BigInteger.ZERO, arithmetic.add(storage.store(a), storage.store(a.negate())).toBigInteger());
+        }
+    }
+
+    private BigInteger randomInteger() {
+        BigInteger value = new BigInteger(random.nextInt(3000), random);
+        return random.nextBoolean() ? value.negate() : value;
+    }
+}
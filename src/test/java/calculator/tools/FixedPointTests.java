@@ -0,0 +1,73 @@
+package calculator.tools;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import calculator.multiplication.Multiplier;
+import calculator.multiplication.impl.JavaMultiplier;
+
+/**
+ * Adds test cases for the fixed point helper methods
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+public class FixedPointTests {
+
+    private Multiplier multiplier = new JavaMultiplier();
+    private Random random = new Random(42);
+
+    @Test
+    public void fractionBitsTest() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> FixedPoint.fractionBits(MathContext.UNLIMITED));
+        for (int precision : new int[]{1, 10, 1000, 100000}) {
+            // 2^-bits has to be far below 10^-precision
+            int bits = FixedPoint.fractionBits(new MathContext(precision));
+            Assertions.assertTrue(BigInteger.ONE.shiftLeft(bits).compareTo(BigInteger.TEN.pow(precision + 1)) > 0);
+        }
+    }
+
+    @Test
+    public void exactRoundTripTest() {
+        // values with a finite binary representation are converted exactly before the context is applied
+        for (int i = 0; i < 200; i++) {
+            MathContext context = new MathContext(1 + random.nextInt(300));
+            int fractionBits = FixedPoint.fractionBits(context);
+            BigInteger value = new BigInteger(random.nextInt(2 * fractionBits) + 1, random);
+            if (random.nextBoolean()) {
+                value = value.negate();
+            }
+            BigDecimal expected = new BigDecimal(value).divide(new BigDecimal(BigInteger.ONE.shiftLeft(fractionBits))).round(context);
+            Assertions.assertEquals(expected, FixedPoint.toBigDecimal(value, fractionBits, context, multiplier));
+        }
+        MathContext context = new MathContext(20);
+        Assertions.assertEquals(0, new BigDecimal("1.5").compareTo(FixedPoint.toBigDecimal(BigInteger.valueOf(3), 1, context, multiplier)));
+        Assertions.assertEquals(0, new BigDecimal("-24").compareTo(FixedPoint.toBigDecimal(BigInteger.valueOf(-3), -3, context, multiplier)));
+        Assertions.assertEquals(0, BigDecimal.ZERO.compareTo(FixedPoint.toBigDecimal(BigInteger.ZERO, 100, context, multiplier)));
+    }
+
+    @Test
+    public void decimalRoundTripTest() {
+        // decimal values >= 1 are truncated to the fraction bits, the error is far below the precision of the context
+        for (int i = 0; i < 200; i++) {
+            MathContext context = new MathContext(1 + random.nextInt(300));
+            int fractionBits = FixedPoint.fractionBits(context);
+            BigInteger unscaled = new BigInteger(random.nextInt(1200) + 1, random).add(BigInteger.ONE);
+            BigDecimal value = new BigDecimal(unscaled, random.nextInt(unscaled.toString().length()) - 100);
+            if (random.nextBoolean()) {
+                value = value.negate();
+            }
+            BigInteger fixedPoint = value.multiply(new BigDecimal(BigInteger.ONE.shiftLeft(fractionBits))).toBigInteger();
+
+            BigDecimal expected = value.round(context);
+            BigDecimal actual = FixedPoint.toBigDecimal(fixedPoint, fractionBits, context, multiplier);
+            Assertions.assertTrue(expected.subtract(actual).abs().compareTo(expected.ulp()) <= 0,
+                    "expected " + expected + " but was " + actual);
+        }
+    }
+}
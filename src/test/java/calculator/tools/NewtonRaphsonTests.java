@@ -0,0 +1,81 @@
+package calculator.tools;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import calculator.multiplication.Multiplier;
+import calculator.multiplication.impl.JavaMultiplier;
+
+/**
+ * Adds test cases for the Newton-Raphson division and square root
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+public class NewtonRaphsonTests {
+
+    private Multiplier multiplier = new JavaMultiplier();
+    private Random random = new Random(42);
+
+    @Test
+    public void sqrtTest() {
+        Assertions.assertThrows(ArithmeticException.class,
+                () -> NewtonRaphson.sqrt(BigDecimal.ONE.negate(), new MathContext(NewtonRaphson.SQRT_THRESHOLD), multiplier));
+
+        BigDecimal[] values = {
+                BigDecimal.valueOf(10005), BigDecimal.valueOf(2), BigDecimal.valueOf(4), BigDecimal.ONE,
+                // odd scale and negative scale
+                new BigDecimal("0.5"), new BigDecimal("1E-7"), new BigDecimal("3E+11"),
+                // the normalized radicand is exactly 1 or just below 4
+                new BigDecimal(BigInteger.ONE.shiftLeft(200)), new BigDecimal(BigInteger.ONE.shiftLeft(202).subtract(BigInteger.ONE)),
+                new BigDecimal(new BigInteger(5000, random), 1234), BigDecimal.ZERO
+        };
+        int threshold = NewtonRaphson.SQRT_THRESHOLD;
+        for (int precision : new int[]{threshold - 1, threshold, threshold + 1, threshold + 17, 2 * threshold + 1, 5000}) {
+            MathContext context = new MathContext(precision);
+            for (BigDecimal value : values) {
+                assertClose(value.sqrt(context), NewtonRaphson.sqrt(value, context, multiplier));
+            }
+        }
+    }
+
+    @Test
+    public void divideTest() {
+        int threshold = NewtonRaphson.DIVISION_THRESHOLD;
+        Assertions.assertThrows(ArithmeticException.class,
+                () -> NewtonRaphson.divide(BigDecimal.ONE, BigDecimal.ZERO, new MathContext(threshold), multiplier));
+
+        BigDecimal pi = new BigDecimal(new BigInteger(3 * threshold, random), threshold);
+        BigDecimal[][] pairs = {
+                {BigDecimal.ONE, BigDecimal.valueOf(3)},
+                {BigDecimal.valueOf(-22), BigDecimal.valueOf(7)},
+                {new BigDecimal("1.5E+20"), new BigDecimal("-0.0013")},
+                // the normalized divisor is exactly 1 or just below 2
+                {BigDecimal.TEN, new BigDecimal(BigInteger.ONE.shiftLeft(300))},
+                {BigDecimal.TEN, new BigDecimal(BigInteger.ONE.shiftLeft(300).subtract(BigInteger.ONE))},
+                // the dividend has more bits than the fixed point numbers
+                {pi, new BigDecimal(new BigInteger(4000, random), 17)},
+                {BigDecimal.ZERO, BigDecimal.valueOf(7)}
+        };
+        for (int precision : new int[]{threshold - 1, threshold, threshold + 1}) {
+            MathContext context = new MathContext(precision);
+            for (BigDecimal[] pair : pairs) {
+                assertClose(pair[0].divide(pair[1], context), NewtonRaphson.divide(pair[0], pair[1], context, multiplier));
+            }
+        }
+    }
+
+    /**
+     * The results of the iteration are correct to within one unit in the last place.
+     */
+    private static void assertClose(BigDecimal expected, BigDecimal actual) {
+        BigDecimal difference = expected.subtract(actual).abs();
+        Assertions.assertTrue(difference.compareTo(expected.ulp()) <= 0,
+                "expected " + expected.round(new MathContext(20)) + " but the difference is " + difference.round(new MathContext(3)));
+    }
+}
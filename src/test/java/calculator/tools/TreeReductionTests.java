@@ -0,0 +1,115 @@
+package calculator.tools;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Adds test cases for the tree reduction
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+public class TreeReductionTests {
+
+    private ExecutorService service = Executors.newFixedThreadPool(4);
+    private Random random = new Random(42);
+
+    @Test
+    public void orderTest() throws ExecutionException, InterruptedException {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> TreeReduction.reduce(new ArrayList<>(), this::concat, service));
+        Assertions.assertEquals("", TreeReduction.reduce(new ArrayList<>(), this::concat, "", service).get());
+
+        for (int count = 1; count <= 33; count++) {
+            List<CompletableFuture<String>> futures = new ArrayList<>();
+            StringBuilder expected = new StringBuilder();
+            for (int i = 0; i < count; i++) {
+                futures.add(new CompletableFuture<>());
+                expected.append((char) ('a' + i % 26));
+            }
+            CompletableFuture<String> result = TreeReduction.reduce(futures, this::concat, service);
+
+            // the operands complete in random order, the operator is not commutative
+            List<Integer> order = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                order.add(i);
+            }
+            Collections.shuffle(order, random);
+            for (int i : order) {
+                futures.get(i).complete(String.valueOf((char) ('a' + i % 26)));
+            }
+            Assertions.assertEquals(expected.toString(), result.get());
+        }
+    }
+
+    @Test
+    public void failureTest() {
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            futures.add(CompletableFuture.completedFuture(i));
+        }
+        futures.set(8, new CompletableFuture<>());
+        futures.get(8).completeExceptionally(new IllegalStateException());
+        ExecutionException e = Assertions.assertThrows(ExecutionException.class, TreeReduction.reduce(futures, Integer::sum, service)::get);
+        Assertions.assertTrue(e.getCause() instanceof IllegalStateException);
+
+        futures.set(8, CompletableFuture.completedFuture(8));
+        e = Assertions.assertThrows(ExecutionException.class, TreeReduction.reduce(futures, (a, b) -> {
+            if (b == 3) {
+                throw new ArithmeticException();
+            }
+            return a + b;
+        }, service)::get);
+        Assertions.assertTrue(e.getCause() instanceof ArithmeticException);
+    }
+
+    @Test
+    public void compensatedSumTest() throws ExecutionException, InterruptedException {
+        MathContext context = new MathContext(5);
+        // every pair (1 + 0.00004) is rounded to 1, so the plain sum loses all small terms
+        List<BigDecimal> terms = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            terms.add(BigDecimal.ONE);
+            terms.add(new BigDecimal("0.00004"));
+        }
+        BigDecimal exact = new BigDecimal("64.00256").round(context);
+        Assertions.assertEquals(exact, sum(terms, context, true));
+        Assertions.assertNotEquals(exact, sum(terms, context, false));
+
+        for (int i = 0; i < 20; i++) {
+            terms.clear();
+            BigDecimal reference = BigDecimal.ZERO;
+            for (int j = 0; j < 200; j++) {
+                BigDecimal term = BigDecimal.valueOf(random.nextLong(), random.nextInt(40));
+                terms.add(term);
+                reference = reference.add(term);
+            }
+            context = new MathContext(10 + random.nextInt(20));
+            BigDecimal compensatedError = sum(terms, context, true).subtract(reference).abs();
+            BigDecimal plainError = sum(terms, context, false).subtract(reference).abs();
+            Assertions.assertTrue(compensatedError.compareTo(plainError) <= 0,
+                    "compensated error " + compensatedError + " exceeds plain error " + plainError);
+            Assertions.assertTrue(compensatedError.compareTo(reference.round(context).ulp()) <= 0);
+        }
+    }
+
+    private BigDecimal sum(List<BigDecimal> terms, MathContext context, boolean compensated) throws ExecutionException, InterruptedException {
+        List<CompletableFuture<BigDecimal>> futures = new ArrayList<>();
+        terms.forEach(term -> futures.add(CompletableFuture.completedFuture(term)));
+        return TreeReduction.sum(futures, context, compensated, service).get();
+    }
+
+    private String concat(String a, String b) {
+        return a + b;
+    }
+}
@@ -0,0 +1,107 @@
+package calculator.tools;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Adds test cases for the windowed reduction
+ *
+ * @author Stefan
+ * @version 1.0
+ */
+public class WindowedReductionTests {
+
+    private ExecutorService service = Executors.newFixedThreadPool(4);
+
+    @Test
+    public void orderTest() throws ExecutionException, InterruptedException {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> WindowedReduction.reduce(1, CompletableFuture::completedFuture, Integer::sum, 0, 0, service));
+        Assertions.assertEquals("", WindowedReduction.reduce(0, index -> CompletableFuture.completedFuture(String.valueOf(index)), this::concat, "", 3, service).get());
+
+        // later tasks complete first, the results are folded in order nevertheless
+        String result = WindowedReduction.reduce(20, index -> CompletableFuture.supplyAsync(() -> {
+            sleep(20 - index);
+            return Integer.toString(index % 10);
+        }, service), this::concat, "", 5, service).get();
+        Assertions.assertEquals("01234567890123456789", result);
+    }
+
+    @Test
+    public void windowTest() throws ExecutionException, InterruptedException {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        int sum = WindowedReduction.reduce(100, index -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            return CompletableFuture.supplyAsync(() -> {
+                sleep(index % 3);
+                return index;
+            }, service);
+        }, (a, b) -> {
+            inFlight.decrementAndGet();
+            return a + b;
+        }, 0, 3, service).get();
+        Assertions.assertEquals(4950, sum);
+        Assertions.assertEquals(3, maxInFlight.get());
+    }
+
+    @Test
+    public void foldTest() throws ExecutionException, InterruptedException {
+        // the running result is mutable, as the operator is never applied concurrently
+        StringBuilder result = WindowedReduction.fold(20, index -> CompletableFuture.supplyAsync(() -> {
+            sleep(20 - index);
+            return index % 10;
+        }, service), StringBuilder::append, new StringBuilder(), 5, service).get();
+        Assertions.assertEquals("01234567890123456789", result.toString());
+    }
+
+    @Test
+    public void slowCreationTest() throws ExecutionException, InterruptedException {
+        String digits = "31415926535897932384626433832795028841971693993751";
+        // like a term generator, the tasks may only be created one after another and in order
+        int[] next = new int[1];
+        AtomicInteger creating = new AtomicInteger();
+        String result = WindowedReduction.reduce(digits.length(), index -> {
+            Assertions.assertEquals(1, creating.incrementAndGet());
+            Assertions.assertEquals(next[0], index);
+            // the caller creates the first window slowly, while the first results are available already
+            if (index < 4) {
+                sleep(20);
+            }
+            next[0]++;
+            creating.decrementAndGet();
+            return CompletableFuture.completedFuture(digits.substring(index, index + 1));
+        }, this::concat, "", 4, service).get();
+        Assertions.assertEquals(digits, result);
+    }
+
+    @Test
+    public void failureTest() {
+        CompletableFuture<Integer> result = WindowedReduction.reduce(10, index -> CompletableFuture.supplyAsync(() -> {
+            if (index == 4) {
+                throw new IllegalStateException();
+            }
+            return index;
+        }, service), Integer::sum, 0, 2, service);
+        ExecutionException e = Assertions.assertThrows(ExecutionException.class, result::get);
+        Assertions.assertTrue(e.getCause() instanceof IllegalStateException);
+    }
+
+    private String concat(String a, String b) {
+        return a + b;
+    }
+
+    private static void sleep(int millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}